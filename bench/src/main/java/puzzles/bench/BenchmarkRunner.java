@@ -0,0 +1,35 @@
+package puzzles.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so every result comes with
+ * its allocation rate, and writes the results to jmh-result.json unless
+ * another format or file is asked for. Any JMH command line options can
+ * be given, e.g. a benchmark pattern or -p puzzle=jam-6,hoppers-8.
+ * Comparing the JSON of a run before and after a change shows what the
+ * change did to throughput and allocation.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                //forked benchmarks look for the puzzles where this JVM found them
+                .jvmArgsAppend("-D" + Corpus.DATA_PROPERTY + "=" + Corpus.dataDir());
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,103 @@
+package puzzles.bench;
+
+import org.openjdk.jmh.annotations.*;
+import puzzles.common.solver.Configuration;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmarks of the operations a search does on every config:
+ * generating successors, hashing and comparing. Each Configuration
+ * implementation is measured over the first configs a breadth-first
+ * search reaches from a typical puzzle, so the numbers reflect a mix of
+ * states. Comparisons are measured both between equal configs that are
+ * different objects, as when a duplicate is found, and between different
+ * configs, as when a hash bucket is shared.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConfigBenchmark {
+    /** number of configs measured; a power of 2 so the index wraps with a mask */
+    private static final int SAMPLE_SIZE = 1 << 10;
+
+    @Param({"JamConfig", "JamBitboardConfig", "HoppersConfig", "HoppersBitboardConfig",
+            "ClockConfig", "WaterConfig"})
+    public String type;
+
+    /** the sampled configs */
+    private Configuration[] configs;
+    /** configs equal to the sampled ones, but different objects */
+    private Configuration[] copies;
+    /** index of the next config to measure */
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        this.configs = sample();
+        this.copies = sample();
+    }
+
+    /**
+     * @return configs reachable from the puzzle of the measured type,
+     * repeated to fill SAMPLE_SIZE if there are fewer
+     * @throws IOException if a puzzle file can't be read
+     */
+    private Configuration[] sample() throws IOException {
+        Configuration config = switch (this.type) {
+            case "JamConfig" -> Corpus.load("jam-6", false);
+            case "JamBitboardConfig" -> Corpus.load("jam-6", true);
+            case "HoppersConfig" -> Corpus.load("hoppers-8", false);
+            case "HoppersBitboardConfig" -> Corpus.load("hoppers-8", true);
+            case "ClockConfig" -> Corpus.load("clock-1000-42-722");
+            case "WaterConfig" -> Corpus.load("water-37-5-11-17-29-41");
+            default -> throw new IllegalArgumentException("unknown type: " + this.type);
+        };
+        if (!config.getClass().getSimpleName().equals(this.type)) {
+            throw new IllegalStateException(this.type + " was loaded as " + config.getClass().getSimpleName());
+        }
+        List<Configuration> reachable = Corpus.reachable(config, SAMPLE_SIZE);
+        Configuration[] sample = new Configuration[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; ++i) {
+            sample[i] = reachable.get(i % reachable.size());
+        }
+        return sample;
+    }
+
+    /**
+     * @return index of the next config to measure
+     */
+    private int next() {
+        return this.next++ & (SAMPLE_SIZE - 1);
+    }
+
+    @Benchmark
+    public Collection<Configuration> getSuccessors() {
+        return this.configs[next()].getSuccessors();
+    }
+
+    @Benchmark
+    public int hashCodes() {
+        return this.configs[next()].hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsEqual() {
+        int i = next();
+        return this.configs[i].equals(this.copies[i]);
+    }
+
+    @Benchmark
+    public boolean equalsDifferent() {
+        int i = next();
+        return this.configs[i].equals(this.configs[(i + 1) & (SAMPLE_SIZE - 1)]);
+    }
+}
@@ -0,0 +1,151 @@
+package puzzles.bench;
+
+import puzzles.clock.ClockConfig;
+import puzzles.common.solver.Configuration;
+import puzzles.hoppers.model.HoppersBitboardConfig;
+import puzzles.hoppers.model.HoppersConfig;
+import puzzles.hoppers.model.HoppersLayout;
+import puzzles.jam.model.JamBitboardConfig;
+import puzzles.jam.model.JamConfig;
+import puzzles.jam.model.JamLayout;
+import puzzles.water.WaterConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Loads the puzzles the benchmarks run on. Jam and Hoppers puzzles are
+ * named after their files in data/, and Clock and Water puzzles after
+ * their golden files in output/, so "clock-12-2-1" is a 12 hour clock
+ * from 2 to 1 and "water-4-3-5" is 4 units with buckets of 3 and 5.
+ * The data directory is taken from the puzzles.data system property,
+ * or found relative to the working directory.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class Corpus {
+    /** system property naming the data directory */
+    public static final String DATA_PROPERTY = "puzzles.data";
+
+    private Corpus() {
+    }
+
+    /**
+     * @return the directory holding the jam and hoppers puzzle files
+     */
+    public static File dataDir() {
+        String property = System.getProperty(DATA_PROPERTY);
+        if (property != null) {
+            return new File(property);
+        }
+        for (String candidate : new String[]{"data", "../data"}) {
+            File dir = new File(candidate);
+            if (new File(dir, "jam").isDirectory()) {
+                return dir.getAbsoluteFile();
+            }
+        }
+        throw new IllegalStateException("can't find the data directory, set -D" + DATA_PROPERTY);
+    }
+
+    /**
+     * Loads a puzzle the way its command line program does, so boards
+     * that fit are loaded as bitboard configs.
+     *
+     * @param name name of the puzzle, such as "jam-6" or "water-4-3-5"
+     * @return the initial config of the puzzle
+     * @throws IOException if a puzzle file can't be read
+     */
+    public static Configuration load(String name) throws IOException {
+        return load(name, true);
+    }
+
+    /**
+     * Loads a puzzle.
+     *
+     * @param name name of the puzzle, such as "jam-6" or "water-4-3-5"
+     * @param bitboard whether Jam and Hoppers boards that fit should be
+     *                 loaded as bitboard configs
+     * @return the initial config of the puzzle
+     * @throws IOException if a puzzle file can't be read
+     */
+    public static Configuration load(String name, boolean bitboard) throws IOException {
+        String kind = name.substring(0, name.indexOf('-'));
+        switch (kind) {
+            case "jam": {
+                JamConfig jam = new JamConfig(puzzleFile(kind, name));
+                return bitboard && JamLayout.fits(jam.getNumRows(), jam.getNumCols())
+                        ? new JamBitboardConfig(jam)
+                        : jam;
+            }
+            case "hoppers": {
+                HoppersConfig hoppers = new HoppersConfig(puzzleFile(kind, name));
+                return bitboard && HoppersLayout.fits(hoppers.getBoard())
+                        ? new HoppersBitboardConfig(hoppers)
+                        : hoppers;
+            }
+            case "clock": {
+                int[] args = arguments(name);
+                return new ClockConfig(args[0], args[1], args[2]);
+            }
+            case "water": {
+                int[] args = arguments(name);
+                ArrayList<Integer> totalCapacities = new ArrayList<>();
+                ArrayList<Integer> currentCapacities = new ArrayList<>();
+                for (int i = 1; i < args.length; ++i) {
+                    totalCapacities.add(args[i]);
+                    currentCapacities.add(0);
+                }
+                return new WaterConfig(totalCapacities, currentCapacities, args[0]);
+            }
+            default:
+                throw new IllegalArgumentException("unknown puzzle: " + name);
+        }
+    }
+
+    /**
+     * Collects configs reachable from an initial config, in breadth-first
+     * order, so micro-benchmarks see a realistic mix of configs rather
+     * than just the initial one.
+     *
+     * @param config the initial config
+     * @param count largest number of configs to collect
+     * @return the configs, starting with the initial one
+     */
+    public static List<Configuration> reachable(Configuration config, int count) {
+        List<Configuration> configs = new ArrayList<>();
+        Set<Configuration> seen = new HashSet<>();
+        configs.add(config);
+        seen.add(config);
+        for (int next = 0; next < configs.size() && configs.size() < count; ++next) {
+            for (Configuration childConfig : configs.get(next).getSuccessors()) {
+                if (configs.size() < count && seen.add(childConfig)) {
+                    configs.add(childConfig);
+                }
+            }
+        }
+        return configs;
+    }
+
+    /**
+     * @param kind "jam" or "hoppers"
+     * @param name name of the puzzle
+     * @return path of the puzzle's file
+     */
+    private static String puzzleFile(String kind, String name) {
+        return new File(new File(dataDir(), kind), name + ".txt").getPath();
+    }
+
+    /**
+     * @param name name of a Clock or Water puzzle
+     * @return the numbers in its name
+     */
+    private static int[] arguments(String name) {
+        String[] parts = name.split("-");
+        int[] args = new int[parts.length - 1];
+        for (int i = 1; i < parts.length; ++i) {
+            args[i - 1] = Integer.parseInt(parts[i]);
+        }
+        return args;
+    }
+}
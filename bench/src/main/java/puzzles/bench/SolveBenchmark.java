@@ -0,0 +1,65 @@
+package puzzles.bench;
+
+import org.openjdk.jmh.annotations.*;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.SearchEngine;
+import puzzles.common.solver.Solver;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end solves of every Jam and Hoppers puzzle in data/ and every
+ * Clock and Water puzzle with a golden file in output/, the same way the
+ * command line programs solve them. The engine is BFSEngine unless
+ * another one in puzzles.common.solver is named with -p engine=...
+ * Jam and Hoppers boards are solved as bitboard configs where they fit,
+ * or as JamConfig and HoppersConfig with -p bitboard=false.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolveBenchmark {
+    @Param({"jam-0", "jam-1", "jam-2", "jam-3", "jam-4", "jam-5", "jam-6", "jam-7",
+            "jam-8", "jam-9", "jam-10", "jam-11",
+            "hoppers-0", "hoppers-1", "hoppers-2", "hoppers-3", "hoppers-4",
+            "hoppers-5", "hoppers-6", "hoppers-7", "hoppers-8", "hoppers-9",
+            "clock-12-2-1", "clock-12-2-15", "clock-1000-42-722",
+            "water-4-3-5", "water-4-6-15", "water-17-19-31", "water-2-5-9-14",
+            "water-30-23-31-43", "water-16-11-17-29-41", "water-37-5-11-17-29-41",
+            "water-42-70-39-1001", "water-60-39-269-677-919-1553",
+            "water-1042-1086-1097-1100-2163"})
+    public String puzzle;
+
+    @Param({"BFSEngine"})
+    public String engine;
+
+    @Param({"true"})
+    public boolean bitboard;
+
+    /** the initial config of the puzzle */
+    private Configuration config;
+    /** the engine's class */
+    private Class<? extends SearchEngine> engineClass;
+
+    @Setup
+    public void setup() throws IOException, ReflectiveOperationException {
+        this.config = Corpus.load(this.puzzle, this.bitboard);
+        this.engineClass = Class.forName("puzzles.common.solver." + this.engine)
+                .asSubclass(SearchEngine.class);
+    }
+
+    @Benchmark
+    public Optional<List<Configuration>> solve() throws ReflectiveOperationException {
+        //engines count configs across searches, so each solve gets a new one
+        Solver solver = new Solver(this.engineClass.getConstructor().newInstance());
+        return solver.solve(this.config);
+    }
+}
@@ -1,5 +1,7 @@
 module BFSPuzzleSolver {
     requires transitive javafx.controls;
+    requires jdk.jfr;
+    requires jdk.httpserver;
     exports puzzles.common;
     exports puzzles.hoppers.gui;
     exports puzzles.hoppers.model;
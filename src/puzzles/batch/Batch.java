@@ -0,0 +1,310 @@
+package puzzles.batch;
+
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.SearchBudget;
+import puzzles.common.solver.SolveResult;
+import puzzles.common.solver.Solver;
+import puzzles.hoppers.solver.Hoppers;
+import puzzles.jam.solver.Jam;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * Solves many Jam and Hoppers puzzle files in one JVM, several at a time.
+ * Each result is printed as soon as its puzzle is solved, either in the
+ * format of the Jam and Hoppers programs (and of the files in output/) or
+ * as one JSON object per line, so results come out in the order puzzles
+ * finish rather than the order they were given. A summary table with the
+ * time and number of configs of every puzzle is printed to standard error
+ * at the end, so it does not get mixed into the results.
+ * Arguments are puzzle files, directories, whose .txt files are all
+ * solved, and @files listing one puzzle file or directory per line.
+ * Whether a file is a Jam or a Hoppers puzzle is told from its name or
+ * the name of a directory it is in, unless -kind says.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class Batch {
+    /** usage message */
+    private static final String USAGE = "Usage: java Batch [-threads n] [-json] [-out dir] [-timeout seconds]"
+            + " [-kind jam|hoppers] (file|directory|@listfile) ...";
+
+    /**
+     * The outcome of solving one puzzle file.
+     *
+     * @param index position of the file among the files given
+     * @param file the puzzle file
+     * @param status SOLVED, NO_SOLUTION, BUDGET_EXCEEDED or ERROR
+     * @param moves number of moves in the solution, or -1 if there is none
+     * @param numConfigs number of configurations generated
+     * @param uniqueNumConfigs unique number of configurations generated
+     * @param millis how long loading and solving the puzzle took
+     * @param output the result in the requested format
+     */
+    private record Result(int index, String file, String status, int moves, int numConfigs, int uniqueNumConfigs,
+                          long millis, String output) {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean json = false;
+        File outDir = null;
+        SearchBudget budget = SearchBudget.UNLIMITED;
+        String kind = null;
+        List<String> files = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; ++i) {
+                switch (args[i]) {
+                    case "-threads" -> threads = Integer.parseInt(args[++i]);
+                    case "-json" -> json = true;
+                    case "-out" -> outDir = new File(args[++i]);
+                    case "-timeout" -> budget = budget.withTimeLimit(Duration.ofSeconds(Long.parseLong(args[++i])));
+                    case "-kind" -> kind = args[++i];
+                    default -> addFiles(args[i], files);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            files.clear();
+        }
+        if (files.isEmpty() || threads < 1) {
+            System.out.println(USAGE);
+            return;
+        }
+        if (outDir != null) {
+            Files.createDirectories(outDir.toPath());
+        }
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CompletionService<Result> results = new ExecutorCompletionService<>(pool);
+        String fileKind = kind;
+        SearchBudget fileBudget = budget;
+        boolean asJson = json;
+        for (int i = 0; i < files.size(); ++i) {
+            int index = i;
+            results.submit(() -> solve(index, files.get(index), fileKind, fileBudget, asJson));
+        }
+        pool.shutdown();
+
+        Result[] finished = new Result[files.size()];
+        for (int i = 0; i < files.size(); ++i) {
+            Result result;
+            try {
+                result = results.take().get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+            System.out.print(result.output());
+            System.out.flush();
+            if (outDir != null) {
+                writeResult(outDir, result);
+            }
+            finished[result.index()] = result;
+        }
+        printSummary(finished, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds the puzzle files named by a command line argument.
+     *
+     * @param arg a puzzle file, a directory of them, or @ followed by a file listing them
+     * @param files list to add the puzzle files to
+     * @throws IOException if a directory or list can't be read
+     */
+    private static void addFiles(String arg, List<String> files) throws IOException {
+        if (arg.startsWith("@")) {
+            for (String line : Files.readAllLines(Path.of(arg.substring(1)))) {
+                if (!line.isBlank()) {
+                    addFiles(line.strip(), files);
+                }
+            }
+        } else if (new File(arg).isDirectory()) {
+            try (Stream<Path> paths = Files.walk(Path.of(arg))) {
+                paths.filter(path -> path.toString().endsWith(".txt") && Files.isRegularFile(path))
+                        .map(Path::toString)
+                        .sorted()
+                        .forEach(files::add);
+            }
+        } else {
+            files.add(arg);
+        }
+    }
+
+    /**
+     * Tells whether a file is a Jam or a Hoppers puzzle from its name, or
+     * from the name of the nearest directory it is in that tells.
+     *
+     * @param file the puzzle file
+     * @return "jam" or "hoppers", or null if no name tells
+     */
+    private static String kindOf(String file) {
+        for (File part = new File(file).getAbsoluteFile(); part != null; part = part.getParentFile()) {
+            String name = part.getName().toLowerCase();
+            if (name.startsWith("hoppers")) {
+                return "hoppers";
+            }
+            if (name.startsWith("jam")) {
+                return "jam";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Loads and solves one puzzle file. Runs on a worker thread.
+     *
+     * @param index position of the file among the files given
+     * @param file the puzzle file
+     * @param kind "jam" or "hoppers", or null to tell from the file's name
+     * @param budget the budget of the search
+     * @param json whether to format the result as JSON
+     * @return the result
+     */
+    private static Result solve(int index, String file, String kind, SearchBudget budget, boolean json) {
+        long start = System.nanoTime();
+        String fileKind = kind != null ? kind : kindOf(file);
+        Configuration config;
+        try {
+            Path path = Path.of(file);
+            if (!Files.exists(path)) {
+                throw new IOException("no such file");
+            }
+            if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+                throw new IOException("can't read the file");
+            }
+            if ("jam".equals(fileKind)) {
+                config = Jam.load(file);
+            } else if ("hoppers".equals(fileKind)) {
+                config = Hoppers.load(file);
+            } else {
+                throw new IllegalArgumentException("can't tell whether this is a jam or a hoppers puzzle, use -kind");
+            }
+        } catch (IOException | RuntimeException e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.toString();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            String output = json
+                    ? "{\"file\":" + quote(file) + ",\"status\":\"ERROR\",\"error\":" + quote(message) + "}\n"
+                    : "File: " + file + "\nError: " + message + "\n";
+            return new Result(index, file, "ERROR", -1, 0, 0, millis, output);
+        }
+
+        Solver solver = new Solver();
+        SolveResult solved = solver.solve(config, budget);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        List<Configuration> path = solved.path();
+        String status = solved.status().name();
+        String output;
+        if (json) {
+            StringBuilder line = new StringBuilder();
+            line.append("{\"file\":").append(quote(file))
+                    .append(",\"puzzle\":").append(quote(fileKind))
+                    .append(",\"status\":").append(quote(status));
+            if (solved.limit() != null) {
+                line.append(",\"limit\":").append(quote(solved.limit().name()));
+            }
+            line.append(",\"moves\":").append(path.isEmpty() ? "null" : Integer.toString(path.size() - 1))
+                    .append(",\"totalConfigs\":").append(solved.numConfigs())
+                    .append(",\"uniqueConfigs\":").append(solved.uniqueNumConfigs())
+                    .append(",\"millis\":").append(millis)
+                    .append(",\"initial\":").append(quote(config.display()))
+                    .append(",\"steps\":[");
+            for (int i = 0; i < path.size(); ++i) {
+                line.append(i == 0 ? "" : ",").append(quote(path.get(i).display()));
+            }
+            output = line.append("]}\n").toString();
+        } else {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            PrintStream out = new PrintStream(bytes, false, StandardCharsets.UTF_8);
+            out.println("File: " + file);
+            out.println(config.display());
+            solver.displaySolution(path, out);
+            if (solved.limit() != null) {
+                out.println("Stopped: " + solved.limit().name().toLowerCase() + " limit reached");
+            }
+            out.flush();
+            output = bytes.toString(StandardCharsets.UTF_8);
+        }
+        return new Result(index, file, status, path.size() - 1, solved.numConfigs(), solved.uniqueNumConfigs(),
+                millis, output);
+    }
+
+    /**
+     * @param text any text
+     * @return the text as a JSON string
+     */
+    static String quote(String text) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < ' ') {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Writes a result next to the others in a directory, named like the
+     * files in output/: jam-1.txt gives jam-1-out.txt, or jam-1-out.json
+     * for JSON results.
+     *
+     * @param outDir the directory
+     * @param result the result
+     * @throws IOException if the file can't be written
+     */
+    private static void writeResult(File outDir, Result result) throws IOException {
+        String name = new File(result.file()).getName();
+        if (name.endsWith(".txt")) {
+            name = name.substring(0, name.length() - ".txt".length());
+        }
+        boolean json = result.output().startsWith("{");
+        Files.writeString(new File(outDir, name + (json ? "-out.json" : "-out.txt")).toPath(),
+                result.output(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Prints the time and number of configs of every puzzle, in the order
+     * they were given, followed by totals.
+     *
+     * @param results the results, in the order the files were given
+     * @param wallMillis how long the whole batch took
+     */
+    private static void printSummary(Result[] results, long wallMillis) {
+        int width = "File".length();
+        for (Result result : results) {
+            width = Math.max(width, result.file().length());
+        }
+        String row = "%-" + width + "s %-15s %6s %12s %12s %10s%n";
+        System.err.printf(row, "File", "Status", "Moves", "Total", "Unique", "Time (ms)");
+        long solvingMillis = 0;
+        int solved = 0;
+        for (Result result : results) {
+            System.err.printf(row, result.file(), result.status(),
+                    result.moves() < 0 ? "-" : Integer.toString(result.moves()),
+                    result.numConfigs(), result.uniqueNumConfigs(), result.millis());
+            solvingMillis += result.millis();
+            if (result.status().equals(SolveResult.Status.SOLVED.name())) {
+                ++solved;
+            }
+        }
+        System.err.printf("%d puzzles, %d solved, in %d ms (%d ms of solving)%n",
+                results.length, solved, wallMillis, solvingMillis);
+    }
+}
@@ -0,0 +1,172 @@
+package puzzles.batch;
+
+import puzzles.common.solver.SolveResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The results of searches shared by every request of a SolveServer.
+ * Finished results are kept in a least recently used cache of a fixed
+ * number of entries, so the same puzzle is only solved once while it is
+ * being asked for. A request for a puzzle that is being solved right now
+ * does not start a second search, it waits for the one in flight and
+ * gets its result. Only results that are final are cached; a search
+ * that ran out of budget is shared with the requests waiting on it, but
+ * the next request tries again.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class SolutionCache {
+    /** where the result of a lookup came from */
+    public enum Source {
+        CACHED,
+        COALESCED,
+        SOLVED
+    }
+
+    /**
+     * The result of a lookup.
+     *
+     * @param result the result of the search
+     * @param source whether it was cached, shared with a search in flight or searched for
+     */
+    public record Answer(SolveResult result, Source source) {}
+
+    /** largest number of results kept */
+    private final int capacity;
+    /** finished results by key, least recently used first; guarded by itself */
+    private final LinkedHashMap<String, SolveResult> results;
+    /** searches in flight by key */
+    private final Map<String, CompletableFuture<SolveResult>> inFlight = new ConcurrentHashMap<>();
+    /** number of lookups answered from the cache */
+    private final AtomicLong hits = new AtomicLong();
+    /** number of lookups answered by a search in flight */
+    private final AtomicLong coalesced = new AtomicLong();
+    /** number of lookups that ran a search */
+    private final AtomicLong searches = new AtomicLong();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity largest number of results kept
+     */
+    public SolutionCache(int capacity) {
+        this.capacity = capacity;
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SolveResult> eldest) {
+                return size() > SolutionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the result of a search, from the cache, from a search in flight
+     * with the same key, or else by running the search on the calling thread.
+     *
+     * @param key what identifies the search, such as the canonical encoding of its initial config
+     * @param search the search to run if its result is neither cached nor in flight
+     * @return the result and where it came from
+     */
+    public Answer get(String key, Supplier<SolveResult> search) {
+        SolveResult cached = getCached(key);
+        if (cached != null) {
+            this.hits.incrementAndGet();
+            return new Answer(cached, Source.CACHED);
+        }
+        CompletableFuture<SolveResult> mine = new CompletableFuture<>();
+        CompletableFuture<SolveResult> running = this.inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            this.coalesced.incrementAndGet();
+            try {
+                return new Answer(running.join(), Source.COALESCED);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            //a search may have finished between the first look and claiming the key
+            cached = getCached(key);
+            if (cached != null) {
+                this.hits.incrementAndGet();
+                mine.complete(cached);
+                return new Answer(cached, Source.CACHED);
+            }
+            this.searches.incrementAndGet();
+            SolveResult result = search.get();
+            if (result.status() != SolveResult.Status.BUDGET_EXCEEDED) {
+                synchronized (this.results) {
+                    this.results.put(key, result);
+                }
+            }
+            mine.complete(result);
+            return new Answer(result, Source.SOLVED);
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            //the result is cached before the key is released, so no request misses both
+            this.inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * @param key what identifies the search
+     * @return the cached result, or null if there is none
+     */
+    private SolveResult getCached(String key) {
+        synchronized (this.results) {
+            return this.results.get(key);
+        }
+    }
+
+    /**
+     * @return number of results cached
+     */
+    public int size() {
+        synchronized (this.results) {
+            return this.results.size();
+        }
+    }
+
+    /**
+     * @return largest number of results kept
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return number of searches in flight
+     */
+    public int getInFlight() {
+        return this.inFlight.size();
+    }
+
+    /**
+     * @return number of lookups answered from the cache
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * @return number of lookups answered by a search in flight
+     */
+    public long getCoalesced() {
+        return this.coalesced.get();
+    }
+
+    /**
+     * @return number of lookups that ran a search
+     */
+    public long getSearches() {
+        return this.searches.get();
+    }
+}
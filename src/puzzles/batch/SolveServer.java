@@ -0,0 +1,238 @@
+package puzzles.batch;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import puzzles.common.solver.CanonicalBFSEngine;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.SearchBudget;
+import puzzles.common.solver.SolveResult;
+import puzzles.common.solver.Solver;
+import puzzles.hoppers.solver.Hoppers;
+import puzzles.jam.solver.Jam;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Solves Jam and Hoppers puzzles for many clients from one warm JVM, over
+ * HTTP on the loopback interface only. A client POSTs the text of a puzzle
+ * file to /jam or /hoppers and gets back one JSON object with the status,
+ * the number of moves and every step of a shortest solution, the first
+ * being the puzzle as given. GET /stats gives the counts of the cache.
+ * Each request is handled on its own virtual thread when the JVM has
+ * them, and on a thread of a cached pool otherwise. Solutions are kept
+ * in a SolutionCache keyed by the canonical encoding of the initial config,
+ * so a puzzle is solved once however many clients ask for it, even at the
+ * same time, and a board that is a mirror image of a solved one is answered
+ * from the cache too. At most -searches searches run at once, since each
+ * takes a core and its own memory.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class SolveServer {
+    /** usage message */
+    private static final String USAGE = "Usage: java SolveServer [-port n] [-cache entries] [-searches n]"
+            + " [-timeout seconds]";
+    /** port listened on by default */
+    private static final int DEFAULT_PORT = 8642;
+    /** number of solutions cached by default */
+    private static final int DEFAULT_CACHE = 1024;
+
+    /** the solutions */
+    private final SolutionCache cache;
+    /** permits to run a search */
+    private final Semaphore searches;
+    /** the budget of each search */
+    private final SearchBudget budget;
+
+    /**
+     * Creates a server that is not listening yet.
+     *
+     * @param cacheSize largest number of solutions cached
+     * @param searches largest number of searches run at once
+     * @param budget the budget of each search
+     */
+    public SolveServer(int cacheSize, int searches, SearchBudget budget) {
+        this.cache = new SolutionCache(cacheSize);
+        this.searches = new Semaphore(searches);
+        this.budget = budget;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        int cacheSize = DEFAULT_CACHE;
+        int searches = Runtime.getRuntime().availableProcessors();
+        SearchBudget budget = SearchBudget.UNLIMITED;
+        try {
+            for (int i = 0; i < args.length; ++i) {
+                switch (args[i]) {
+                    case "-port" -> port = Integer.parseInt(args[++i]);
+                    case "-cache" -> cacheSize = Integer.parseInt(args[++i]);
+                    case "-searches" -> searches = Integer.parseInt(args[++i]);
+                    case "-timeout" -> budget = budget.withTimeLimit(Duration.ofSeconds(Long.parseLong(args[++i])));
+                    default -> throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            searches = 0;
+        }
+        if (searches < 1 || cacheSize < 0) {
+            System.out.println(USAGE);
+            return;
+        }
+        HttpServer server = new SolveServer(cacheSize, searches, budget).start(port);
+        System.out.println("Solving on http://localhost:" + server.getAddress().getPort()
+                + "/ (POST a puzzle to /jam or /hoppers, GET /stats)");
+    }
+
+    /**
+     * Starts listening on the loopback interface.
+     *
+     * @param port port to listen on, or 0 for any free one
+     * @return the running HTTP server, to stop it or find its port
+     * @throws IOException if the port can't be bound
+     */
+    public HttpServer start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/jam", exchange -> handleSolve(exchange, "jam"));
+        server.createContext("/hoppers", exchange -> handleSolve(exchange, "hoppers"));
+        server.createContext("/stats", this::handleStats);
+        server.setExecutor(newRequestExecutor());
+        server.start();
+        return server;
+    }
+
+    /**
+     * Virtual threads only exist from Java 21, so they are looked up rather
+     * than called, which lets the server also run on the Java 17 it is built for.
+     *
+     * @return an executor that runs each request on a new virtual thread if
+     * the JVM has them, or else on a pooled platform thread
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "solve-request");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Solves the puzzle in the body of a request, and responds with the solution.
+     *
+     * @param exchange the request
+     * @param kind "jam" or "hoppers"
+     * @throws IOException if the response can't be sent
+     */
+    private void handleSolve(HttpExchange exchange, String kind) throws IOException {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            respond(exchange, 405, "{\"status\":\"ERROR\",\"error\":\"POST the puzzle\"}");
+            return;
+        }
+        long start = System.nanoTime();
+        Configuration config;
+        try {
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+            config = kind.equals("jam") ? Jam.load(in) : Hoppers.load(in);
+        } catch (IOException | RuntimeException e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.toString();
+            respond(exchange, 400, "{\"status\":\"ERROR\",\"error\":" + Batch.quote(message) + "}");
+            return;
+        }
+
+        //the display of the representative is the whole board, so it is
+        //canonical across every orientation of the puzzle
+        String key = kind + "\n" + config.canonical().display();
+        SolutionCache.Answer answer = this.cache.get(key, () -> search(config));
+        SolveResult solved = answer.result();
+        List<Configuration> path = solved.path();
+        if (!path.isEmpty()) {
+            List<Configuration> canonicalPath = new ArrayList<>();
+            for (Configuration step : path) {
+                canonicalPath.add(step.canonical());
+            }
+            path = CanonicalBFSEngine.orient(canonicalPath, config);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\"puzzle\":").append(Batch.quote(kind))
+                .append(",\"status\":").append(Batch.quote(solved.status().name()));
+        if (solved.limit() != null) {
+            json.append(",\"limit\":").append(Batch.quote(solved.limit().name()));
+        }
+        json.append(",\"source\":").append(Batch.quote(answer.source().name()))
+                .append(",\"moves\":").append(path.isEmpty() ? "null" : Integer.toString(path.size() - 1))
+                .append(",\"totalConfigs\":").append(solved.numConfigs())
+                .append(",\"uniqueConfigs\":").append(solved.uniqueNumConfigs())
+                .append(",\"millis\":").append(millis)
+                .append(",\"steps\":[");
+        for (int i = 0; i < path.size(); ++i) {
+            json.append(i == 0 ? "" : ",").append(Batch.quote(path.get(i).display()));
+        }
+        respond(exchange, 200, json.append("]}").toString());
+    }
+
+    /**
+     * Solves a puzzle once a search may run.
+     *
+     * @param config the initial config
+     * @return the outcome of the search
+     */
+    private SolveResult search(Configuration config) {
+        this.searches.acquireUninterruptibly();
+        try {
+            return new Solver(new CanonicalBFSEngine()).solve(config, this.budget);
+        } finally {
+            this.searches.release();
+        }
+    }
+
+    /**
+     * Responds with the counts of the cache.
+     *
+     * @param exchange the request
+     * @throws IOException if the response can't be sent
+     */
+    private void handleStats(HttpExchange exchange) throws IOException {
+        respond(exchange, 200, "{\"cached\":" + this.cache.size()
+                + ",\"capacity\":" + this.cache.getCapacity()
+                + ",\"inFlight\":" + this.cache.getInFlight()
+                + ",\"hits\":" + this.cache.getHits()
+                + ",\"coalesced\":" + this.cache.getCoalesced()
+                + ",\"searches\":" + this.cache.getSearches() + "}");
+    }
+
+    /**
+     * Sends a JSON response and ends the exchange.
+     *
+     * @param exchange the request
+     * @param code HTTP status code
+     * @param body the JSON
+     * @throws IOException if the response can't be sent
+     */
+    private static void respond(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = (body + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
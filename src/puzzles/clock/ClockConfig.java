@@ -1,9 +1,13 @@
 package puzzles.clock;
 
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.SearchEvents;
+import puzzles.common.solver.SuccessorVisitor;
+import puzzles.common.solver.SuccessorsEvent;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -52,6 +56,27 @@ public class ClockConfig implements Configuration {
         }
     }
 
+    /**
+     * @return total number of hours on the clock
+     */
+    public int getHours() {
+        return this.hours;
+    }
+
+    /**
+     * @return current hour on the clock
+     */
+    public int getCurrent() {
+        return this.current;
+    }
+
+    /**
+     * @return goal hour on the clock
+     */
+    public int getGoal() {
+        return this.goal;
+    }
+
     @Override
     public boolean isSolution() {
         return this.current == this.goal;
@@ -60,16 +85,23 @@ public class ClockConfig implements Configuration {
     @Override
     public Collection<Configuration> getSuccessors() {
         ArrayList<Configuration> successors = new ArrayList<>();
-
-        ClockConfig c1 = new ClockConfig(this, true);
-        ClockConfig c2 = new ClockConfig(this, false);
-
-        successors.add(c1);
-        successors.add(c2);
-
+        forEachSuccessor(successors::add);
         return successors;
     }
 
+    @Override
+    public boolean forEachSuccessor(SuccessorVisitor visitor) {
+        SuccessorsEvent event = SearchEvents.beginSuccessors();
+        boolean going = visitor.visit(new ClockConfig(this, true));
+        int count = 1;
+        if (going) {
+            going = visitor.visit(new ClockConfig(this, false));
+            ++count;
+        }
+        SearchEvents.endSuccessors(event, this, count);
+        return going;
+    }
+
     @Override
     public String display() {
         return Integer.toString(this.current);
@@ -80,6 +112,58 @@ public class ClockConfig implements Configuration {
         return new ClockConfig(this.hours, this.goal, this.goal);
     }
 
+    /**
+     * A goal hour that is not on the clock can never be reached.
+     */
+    @Override
+    public Collection<Configuration> getGoalConfigs() {
+        if (this.goal < 1 || this.goal > this.hours) {
+            return List.of();
+        }
+        return List.of(getGoalConfig());
+    }
+
+    /**
+     * The clock can always be turned back the way it came.
+     */
+    @Override
+    public boolean isReversible() {
+        return true;
+    }
+
+    @Override
+    public int getStateCodeSize() {
+        return Integer.BYTES;
+    }
+
+    @Override
+    public long encodeState() {
+        return this.current;
+    }
+
+    @Override
+    public Configuration decodeState(long code) {
+        return new ClockConfig(this.hours, (int) code, this.goal);
+    }
+
+    @Override
+    public boolean hasMoveCodes() {
+        return true;
+    }
+
+    /**
+     * A move is 1 if it adds an hour and 0 if it takes one away.
+     */
+    @Override
+    public int describeMove(Configuration successor) {
+        return ((ClockConfig) successor).current == new ClockConfig(this, true).current ? 1 : 0;
+    }
+
+    @Override
+    public Configuration undoMove(int move) {
+        return new ClockConfig(this, move == 0);
+    }
+
     @Override
     public boolean equals(Object o) {
        boolean result = false;
@@ -97,6 +181,14 @@ public class ClockConfig implements Configuration {
         return Objects.hash(hours, current, goal);
     }
 
+    /**
+     * The display leaves out the capacities and the goal, which toString has.
+     */
+    @Override
+    public String describePuzzle() {
+        return toString();
+    }
+
     @Override
     public String toString() {
         return "ClockConfig{" +
@@ -0,0 +1,19 @@
+package puzzles.clock;
+
+import puzzles.common.solver.Heuristic;
+
+/**
+ * Estimates the moves left on a clock as the number of hours between the
+ * current hour and the goal, going whichever way around is shorter.
+ * Each move turns the clock one hour, so this is exact.
+ *
+ * @author Hritik "Ricky" Gupta
+ */
+public class ClockHeuristic implements Heuristic<ClockConfig> {
+
+    @Override
+    public int estimate(ClockConfig config) {
+        int distance = Math.floorMod(config.getCurrent() - config.getGoal(), config.getHours());
+        return Math.min(distance, config.getHours() - distance);
+    }
+}
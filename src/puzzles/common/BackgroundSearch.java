@@ -0,0 +1,117 @@
+package puzzles.common;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs one search at a time on a background thread, so a view can stay
+ * responsive while a puzzle is being solved. Starting a new search cancels
+ * the one in flight, and only the newest search ever reports a result.
+ * Results are handed to the given executor, so a view can have them
+ * delivered on its own UI thread. Every method must be called from that
+ * same thread.
+ * Searches are cancelled by interrupting their thread, so a search
+ * should check the thread's interrupted flag every so often. A search
+ * that throws is reported as failed the same way, so a view is never
+ * left waiting on it.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class BackgroundSearch {
+    /** thread the searches run on */
+    private final ExecutorService worker;
+    /** executor results are delivered on */
+    private final Executor callbacks;
+    /** the search in flight, or null if there is none */
+    private Future<?> running;
+    /** number of the newest search; results of older ones are dropped */
+    private long generation;
+
+    /**
+     * Creates a background search whose results are delivered on the given executor.
+     *
+     * @param callbacks executor to deliver results on, such as Platform::runLater
+     */
+    public BackgroundSearch(Executor callbacks) {
+        this.callbacks = callbacks;
+        this.worker = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "background-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Cancels any search in flight and starts a new one. If the search
+     * throws, onDone receives null.
+     *
+     * @param search the search to run on the background thread
+     * @param onDone receives the result of the search, unless it is
+     *               cancelled or superseded first
+     * @param <T> type of the result
+     */
+    public <T> void submit(Supplier<T> search, Consumer<T> onDone) {
+        submit(search, onDone, failure -> onDone.accept(null));
+    }
+
+    /**
+     * Cancels any search in flight and starts a new one.
+     *
+     * @param search the search to run on the background thread
+     * @param onDone receives the result of the search, unless it is
+     *               cancelled or superseded first
+     * @param onFailed receives what the search threw instead, unless it
+     *                 is cancelled or superseded first
+     * @param <T> type of the result
+     */
+    public <T> void submit(Supplier<T> search, Consumer<T> onDone, Consumer<Throwable> onFailed) {
+        cancel();
+        long id = this.generation;
+        this.running = this.worker.submit(() -> {
+            Runnable report;
+            try {
+                T result = search.get();
+                report = () -> onDone.accept(result);
+            } catch (RuntimeException | Error failure) {
+                report = () -> onFailed.accept(failure);
+            }
+            Runnable deliver = report;
+            this.callbacks.execute(() -> {
+                if (id == this.generation) {
+                    this.running = null;
+                    deliver.run();
+                }
+            });
+        });
+    }
+
+    /**
+     * Cancels the search in flight, if there is one. Its result is never delivered.
+     */
+    public void cancel() {
+        ++this.generation;
+        if (this.running != null) {
+            this.running.cancel(true);
+            this.running = null;
+        }
+    }
+
+    /**
+     * @return true if a search is in flight; false otherwise
+     */
+    public boolean isRunning() {
+        return this.running != null;
+    }
+
+    /**
+     * Cancels any search in flight and stops the background thread.
+     */
+    public void shutdown() {
+        cancel();
+        this.worker.shutdownNow();
+    }
+}
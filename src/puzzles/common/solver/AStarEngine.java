@@ -0,0 +1,132 @@
+package puzzles.common.solver;
+
+import java.util.*;
+
+/**
+ * A best-first search that always expands the config with the lowest
+ * number of moves so far plus estimated moves left. With an admissible
+ * heuristic the path found is a shortest one, while usually expanding
+ * far fewer configs than a breadth-first search.
+ *
+ * @param <C> the type of config the heuristic understands
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class AStarEngine<C extends Configuration> implements SearchEngine {
+
+    /** estimate of the moves left from a config */
+    private final Heuristic<C> heuristic;
+    /** number of configs generated so far */
+    private int numConfigs;
+    /** unique number of configs expanded so far */
+    private int uniqueNumConfigs;
+    /** meter of the budget the search may use */
+    private BudgetMeter meter = new BudgetMeter(SearchBudget.UNLIMITED);
+
+    /**
+     * A config waiting to be expanded, with the cheapest way found to reach it.
+     *
+     * @param config the config
+     * @param parent node it was reached from, or null for the initial config
+     * @param cost number of moves from the initial config
+     * @param total cost plus the estimated moves left
+     * @param order number of nodes created before this one, to break ties
+     */
+    private record Node(Configuration config, Node parent, int cost, int total, long order) {}
+
+    /** expands the lowest total first, then the deepest, then the oldest */
+    private static final Comparator<Node> ORDER = Comparator.comparingInt(Node::total)
+            .thenComparing(Comparator.comparingInt(Node::cost).reversed())
+            .thenComparingLong(Node::order);
+
+    /**
+     * Creates an engine guided by the given heuristic.
+     *
+     * @param heuristic admissible estimate of the moves left from a config
+     */
+    public AStarEngine(Heuristic<C> heuristic) {
+        this.heuristic = heuristic;
+        this.numConfigs = 1;
+        this.uniqueNumConfigs = 1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<List<Configuration>> search(Configuration config) {
+        Map<Configuration, Node> best = new HashMap<>();
+        PriorityQueue<Node> open = new PriorityQueue<>(ORDER);
+        long order = 0;
+
+        Node start = new Node(config, null, 0, this.heuristic.estimate((C) config), order);
+        best.put(config, start);
+        open.add(start);
+
+        while (!open.isEmpty()) {
+            Node node = open.remove();
+            if (best.get(node.config()) != node) {
+                //a cheaper way to this config was found after this node was queued
+                continue;
+            }
+            if (node != start) {
+                ++this.uniqueNumConfigs;
+            }
+            if (node.config().isSolution()) {
+                return Optional.of(buildPath(node));
+            }
+            this.meter.expand(best.size());
+            int cost = node.cost() + 1;
+            Collection<Configuration> successors = node.config().getSuccessors();
+            int seen = 0;
+            for (Configuration childConfig : successors) {
+                ++this.numConfigs;
+                Node known = best.get(childConfig);
+                if (known != null) {
+                    ++seen;
+                }
+                if (known == null || cost < known.cost()) {
+                    Node child = new Node(childConfig, node, cost,
+                            cost + this.heuristic.estimate((C) childConfig), ++order);
+                    best.put(childConfig, child);
+                    open.add(child);
+                }
+            }
+            this.meter.generated(successors.size(), seen);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Follows the parent nodes back from the goal to the initial config.
+     *
+     * @param goal node of the solution config
+     * @return list of configs from the initial config to the goal
+     */
+    private static List<Configuration> buildPath(Node goal) {
+        PathEvent event = SearchEvents.beginPath();
+        List<Configuration> path = new ArrayList<>();
+        for (Node node = goal; node != null; node = node.parent()) {
+            path.add(node.config());
+        }
+        Collections.reverse(path);
+        SearchEvents.endPath(event, path.size());
+        return path;
+    }
+
+    @Override
+    public void setBudgetMeter(BudgetMeter meter) {
+        this.meter = meter;
+    }
+
+    @Override
+    public int getNumConfigs() {
+        return numConfigs;
+    }
+
+    /**
+     * @return number of configurations expanded, counting the solution
+     */
+    @Override
+    public int getUniqueNumConfigs() {
+        return uniqueNumConfigs;
+    }
+}
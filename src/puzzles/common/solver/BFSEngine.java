@@ -0,0 +1,226 @@
+package puzzles.common.solver;
+
+import java.util.*;
+
+/**
+ * The default search engine, a plain breadth-first search.
+ * The frontier is an array-backed queue and the predecessor map
+ * doubles as the visited set, so every membership check is a
+ * single hash lookup. For puzzles with state and move codes the map
+ * keeps only the state code of each config and the code of the move
+ * that reached it, so a config can be collected once it leaves the
+ * queue, and the path is rebuilt by taking the moves back from the
+ * goal. Successors are streamed rather than collected, and each new one
+ * is tested as soon as it is generated, so the search stops as soon as
+ * a solution is reached instead of a level later, when it would come
+ * out of the queue. Interrupting the search's thread stops it through
+ * its meter, so it can be cancelled from another thread.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class BFSEngine implements SearchEngine {
+
+    /** number of configs generated so far */
+    private int numConfigs;
+    /** unique number of configs generated so far */
+    private int uniqueNumConfigs;
+    /** meter of the budget the search may use */
+    private BudgetMeter meter = new BudgetMeter(SearchBudget.UNLIMITED);
+
+    /**
+     * Sets the default values for how many configs have been generated.
+     * Both are equal to 1, because there is always 1 config generated --
+     * the provided one.
+     */
+    public BFSEngine() {
+        this.numConfigs = 1;
+        this.uniqueNumConfigs = 1;
+    }
+
+    @Override
+    public Optional<List<Configuration>> search(Configuration config) {
+        Deque<Configuration> queue = new ArrayDeque<>();
+        Visited visited = config.hasMoveCodes() && config.getStateCodeSize() > 0
+                ? new MoveTable(config) : new PredecessorMap();
+        Configuration goalConfig = config.isSolution() ? config : null;
+
+        queue.add(config);
+        visited.add(config, null);
+        int depth = 0;
+        int levelLeft = 1;
+        this.meter.level(depth, levelLeft);
+
+        while (goalConfig == null && !queue.isEmpty()) {
+            if (levelLeft == 0) {
+                //the queue holds exactly the next level once a level is done
+                levelLeft = queue.size();
+                this.meter.level(++depth, levelLeft);
+            }
+            --levelLeft;
+            Configuration currConfig = queue.remove();
+            if (currConfig != config) {
+                //every config in the queue was new when it was added
+                ++this.uniqueNumConfigs;
+            }
+            this.meter.expand(visited.size());
+            int generated = this.numConfigs;
+            int queued = queue.size();
+            boolean solved = !currConfig.forEachSuccessor(childConfig -> {
+                ++this.numConfigs;
+                if (!visited.add(childConfig, currConfig)) {
+                    return true;
+                }
+                queue.add(childConfig);
+                return !childConfig.isSolution();
+            });
+            generated = this.numConfigs - generated;
+            this.meter.generated(generated, generated - (queue.size() - queued));
+            if (solved) {
+                //the solution was the last config queued, and it counts as unique
+                goalConfig = queue.getLast();
+                ++this.uniqueNumConfigs;
+            }
+        }
+
+        if (goalConfig == null) {
+            return Optional.empty();
+        }
+        return Optional.of(visited.pathTo(goalConfig));
+    }
+
+    /**
+     * The configs a search has seen, each with a way back to the initial config.
+     */
+    private interface Visited {
+        /**
+         * Adds a config if it has not been seen before.
+         *
+         * @param config config to add
+         * @param parent config it was reached from, or null for the initial config
+         * @return true if the config was new; false otherwise
+         */
+        boolean add(Configuration config, Configuration parent);
+
+        /**
+         * @return number of configs seen
+         */
+        int size();
+
+        /**
+         * @param goalConfig a config that was added
+         * @return list of configs from the initial config to the goal
+         */
+        List<Configuration> pathTo(Configuration goalConfig);
+    }
+
+    /**
+     * Remembers the config each config was reached from, which keeps every
+     * config seen in memory.
+     */
+    private static class PredecessorMap implements Visited {
+        /** map from each config to the config it was reached from */
+        private final Map<Configuration, Configuration> predMap = new HashMap<>();
+
+        @Override
+        public boolean add(Configuration config, Configuration parent) {
+            if (this.predMap.containsKey(config)) {
+                return false;
+            }
+            this.predMap.put(config, parent);
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return this.predMap.size();
+        }
+
+        @Override
+        public List<Configuration> pathTo(Configuration goalConfig) {
+            return buildPath(this.predMap, goalConfig);
+        }
+    }
+
+    /**
+     * Remembers the state code of each config and the code of the move that
+     * reached it, a few bytes per config instead of the configs themselves.
+     */
+    private static class MoveTable implements Visited {
+        /** move code kept for the initial config */
+        private static final int NO_MOVE = -1;
+
+        /** state codes, each with the code of the move that reached it */
+        private final StateTable table;
+
+        /**
+         * @param config the initial config
+         */
+        MoveTable(Configuration config) {
+            this.table = StateTable.create(config);
+        }
+
+        @Override
+        public boolean add(Configuration config, Configuration parent) {
+            //only describe the move of configs that are new
+            if (this.table.indexOf(config) != -1) {
+                return false;
+            }
+            return this.table.add(config, parent == null ? NO_MOVE : parent.describeMove(config));
+        }
+
+        @Override
+        public int size() {
+            return this.table.size();
+        }
+
+        @Override
+        public List<Configuration> pathTo(Configuration goalConfig) {
+            PathEvent event = SearchEvents.beginPath();
+            List<Configuration> path = new ArrayList<>();
+            Configuration currConfig = goalConfig;
+            path.add(currConfig);
+            int move;
+            while ((move = this.table.getParent(this.table.indexOf(currConfig))) != NO_MOVE) {
+                currConfig = currConfig.undoMove(move);
+                path.add(currConfig);
+            }
+            Collections.reverse(path);
+            SearchEvents.endPath(event, path.size());
+            return path;
+        }
+    }
+
+    /**
+     * Walks the predecessor map back from the goal to the initial config.
+     *
+     * @param predMap map from each config to the config it was reached from
+     * @param goalConfig the solution config that was found
+     * @return list of configs from the initial config to the goal
+     */
+    static List<Configuration> buildPath(Map<Configuration, Configuration> predMap,
+                                         Configuration goalConfig) {
+        PathEvent event = SearchEvents.beginPath();
+        List<Configuration> path = new ArrayList<>();
+        for (Configuration currConfig = goalConfig; currConfig != null; currConfig = predMap.get(currConfig)) {
+            path.add(currConfig);
+        }
+        Collections.reverse(path);
+        SearchEvents.endPath(event, path.size());
+        return path;
+    }
+
+    @Override
+    public void setBudgetMeter(BudgetMeter meter) {
+        this.meter = meter;
+    }
+
+    @Override
+    public int getNumConfigs() {
+        return numConfigs;
+    }
+
+    @Override
+    public int getUniqueNumConfigs() {
+        return uniqueNumConfigs;
+    }
+}
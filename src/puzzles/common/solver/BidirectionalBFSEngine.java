@@ -0,0 +1,187 @@
+package puzzles.common.solver;
+
+import java.util.*;
+
+/**
+ * A breadth-first search that runs from the initial config and from
+ * every goal config at once and stops when the two searches meet.
+ * Each round expands one whole level of whichever side has the smaller
+ * frontier, so the path found is still a shortest one. The backward side
+ * only starts once the forward frontier is as big as the set of goals, so
+ * a puzzle with many goals, like Jam, mostly runs as a plain BFS that
+ * still pays to list its goals; the search pays off on puzzles with a
+ * few goals, like Clock.
+ * Requires the puzzle to know its goal configs and its predecessors,
+ * which every puzzle with reversible moves gets for free.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class BidirectionalBFSEngine implements SearchEngine {
+
+    /** number of configs generated so far */
+    private int numConfigs;
+    /** unique number of configs generated so far */
+    private int uniqueNumConfigs;
+    /** meter of the budget the search may use */
+    private BudgetMeter meter = new BudgetMeter(SearchBudget.UNLIMITED);
+
+    /**
+     * Where a config was reached from, and how many moves away from
+     * its side's starting configs it is.
+     *
+     * @param link the config it was reached from, or null for a starting config
+     * @param depth number of moves from a starting config of its side
+     */
+    private record Visit(Configuration link, int depth) {}
+
+    /**
+     * Sets the default values for how many configs have been generated.
+     * Both are equal to 1, because there is always 1 config generated --
+     * the provided one.
+     */
+    public BidirectionalBFSEngine() {
+        this.numConfigs = 1;
+        this.uniqueNumConfigs = 1;
+    }
+
+    @Override
+    public Optional<List<Configuration>> search(Configuration config) {
+        if (config.isSolution()) {
+            return Optional.of(List.of(config));
+        }
+        Collection<Configuration> goals = config.getGoalConfigs();
+        if (goals == null) {
+            throw new IllegalArgumentException("puzzle does not know its goal configs");
+        }
+
+        Map<Configuration, Visit> forward = new HashMap<>();
+        Map<Configuration, Visit> backward = new HashMap<>();
+        List<Configuration> forwardLevel = new ArrayList<>();
+        List<Configuration> backwardLevel = new ArrayList<>();
+
+        forward.put(config, new Visit(null, 0));
+        forwardLevel.add(config);
+        boolean isOneSided = true;
+
+        while (!forwardLevel.isEmpty()) {
+            if (isOneSided && forwardLevel.size() >= goals.size()) {
+                //most goals of a big goal set can't be reached, so they wait
+                //until the forward side is as costly to expand
+                isOneSided = false;
+                if (forwardLevel.get(0) != config) {
+                    //configs are counted when expanded until now, so the frontier is counted here
+                    this.uniqueNumConfigs += forwardLevel.size();
+                }
+                for (Configuration goal : goals) {
+                    ++this.numConfigs;
+                    if (backward.putIfAbsent(goal, new Visit(null, 0)) == null) {
+                        ++this.uniqueNumConfigs;
+                        backwardLevel.add(goal);
+                    }
+                }
+            }
+            if (!isOneSided && backwardLevel.isEmpty()) {
+                break;
+            }
+            boolean isForward = isOneSided || forwardLevel.size() <= backwardLevel.size();
+            Map<Configuration, Visit> visited = isForward ? forward : backward;
+            Map<Configuration, Visit> other = isForward ? backward : forward;
+            List<Configuration> level = isForward ? forwardLevel : backwardLevel;
+
+            this.meter.level(visited.get(level.get(0)).depth(), level.size());
+            List<Configuration> nextLevel = new ArrayList<>();
+            Configuration meeting = null;
+            int best = Integer.MAX_VALUE;
+            for (Configuration currConfig : level) {
+                int depth = visited.get(currConfig).depth() + 1;
+                if (isOneSided && currConfig != config) {
+                    //counted like BFSEngine, so that the two compare
+                    ++this.uniqueNumConfigs;
+                }
+                this.meter.expand(forward.size() + backward.size());
+                Collection<Configuration> children = isForward
+                        ? currConfig.getSuccessors()
+                        : currConfig.getPredecessors();
+                int seen = 0;
+                for (Configuration childConfig : children) {
+                    ++this.numConfigs;
+                    if (visited.containsKey(childConfig)) {
+                        ++seen;
+                        continue;
+                    }
+                    visited.put(childConfig, new Visit(currConfig, depth));
+                    nextLevel.add(childConfig);
+                    if (isOneSided) {
+                        if (childConfig.isSolution()) {
+                            ++this.uniqueNumConfigs;
+                            backward.put(childConfig, new Visit(null, 0));
+                            return Optional.of(buildPath(forward, backward, childConfig));
+                        }
+                        continue;
+                    }
+                    Visit otherVisit = other.get(childConfig);
+                    if (otherVisit == null) {
+                        ++this.uniqueNumConfigs;
+                    } else if (depth + otherVisit.depth() < best) {
+                        //keep going to the end of the level, a later meeting
+                        //point may be closer to the other side's start
+                        best = depth + otherVisit.depth();
+                        meeting = childConfig;
+                    }
+                }
+                this.meter.generated(children.size(), seen);
+            }
+
+            if (meeting != null) {
+                return Optional.of(buildPath(forward, backward, meeting));
+            }
+            if (isForward) {
+                forwardLevel = nextLevel;
+            } else {
+                backwardLevel = nextLevel;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Joins the forward path from the initial config to the meeting
+     * config with the backward path from the meeting config to a goal.
+     *
+     * @param forward configs visited by the forward search
+     * @param backward configs visited by the backward search
+     * @param meeting config both searches reached
+     * @return list of configs from the initial config to a goal
+     */
+    private static List<Configuration> buildPath(Map<Configuration, Visit> forward,
+                                                 Map<Configuration, Visit> backward,
+                                                 Configuration meeting) {
+        PathEvent event = SearchEvents.beginPath();
+        List<Configuration> path = new ArrayList<>();
+        for (Configuration currConfig = meeting; currConfig != null; currConfig = forward.get(currConfig).link()) {
+            path.add(currConfig);
+        }
+        Collections.reverse(path);
+        for (Configuration currConfig = backward.get(meeting).link(); currConfig != null;
+             currConfig = backward.get(currConfig).link()) {
+            path.add(currConfig);
+        }
+        SearchEvents.endPath(event, path.size());
+        return path;
+    }
+
+    @Override
+    public void setBudgetMeter(BudgetMeter meter) {
+        this.meter = meter;
+    }
+
+    @Override
+    public int getNumConfigs() {
+        return numConfigs;
+    }
+
+    @Override
+    public int getUniqueNumConfigs() {
+        return uniqueNumConfigs;
+    }
+}
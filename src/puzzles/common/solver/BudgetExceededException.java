@@ -0,0 +1,29 @@
+package puzzles.common.solver;
+
+/**
+ * Thrown by a BudgetMeter when a search runs out of budget, to unwind
+ * the search from wherever it is. Solver turns it into a SolveResult.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class BudgetExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /** the limit that was reached */
+    private final SearchBudget.Limit limit;
+
+    /**
+     * @param limit the limit that was reached
+     */
+    public BudgetExceededException(SearchBudget.Limit limit) {
+        super("search budget exceeded: " + limit);
+        this.limit = limit;
+    }
+
+    /**
+     * @return the limit that was reached
+     */
+    public SearchBudget.Limit getLimit() {
+        return this.limit;
+    }
+}
@@ -0,0 +1,181 @@
+package puzzles.common.solver;
+
+/**
+ * Keeps track of how much of a SearchBudget a running search has used,
+ * and records the search's statistics in a SearchMetrics.
+ * Engines report every config they expand, along with how many configs
+ * they are keeping in memory, and the meter throws a
+ * BudgetExceededException as soon as a limit is passed. The clock, the
+ * cancellation token and the thread's interrupted flag are only looked at
+ * every so often, so metering
+ * costs next to nothing per config. While a flight recording is running,
+ * the meter also emits an event per breadth-first level and for a
+ * sample of the expansions.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class BudgetMeter {
+    /** number of expansions between looks at the clock and the token */
+    private static final int CHECK_INTERVAL = 1 << 10;
+
+    /** the budget being metered */
+    private final SearchBudget budget;
+    /** statistics of the search */
+    private final SearchMetrics metrics;
+    /** when the search started, in System.nanoTime() units */
+    private final long start;
+    /** longest time the search may run for, in nanoseconds */
+    private final long timeLimit;
+    /** number of configs expanded so far */
+    private long expanded;
+    /** event of the level in progress, or null if levels are not being recorded */
+    private SearchLevelEvent levelEvent;
+    /** configs expanded, successors generated and duplicates before the level in progress */
+    private long levelExpanded, levelGenerated, levelDuplicates;
+    /** event of the sampled expansion in progress, or null */
+    private ExpansionEvent expansionEvent;
+
+    /**
+     * Starts metering a budget from now.
+     *
+     * @param budget the budget to meter
+     */
+    public BudgetMeter(SearchBudget budget) {
+        this.budget = budget;
+        this.metrics = new SearchMetrics();
+        this.start = System.nanoTime();
+        this.timeLimit = budget.timeLimit() == null ? Long.MAX_VALUE : budget.timeLimit().toNanos();
+    }
+
+    /**
+     * Records the expansion of one config.
+     *
+     * @param retained number of configs the search is keeping in memory
+     */
+    public void expand(long retained) {
+        expand(1, retained);
+    }
+
+    /**
+     * Records the expansion of several configs at once.
+     *
+     * @param count number of configs expanded
+     * @param retained number of configs the search is keeping in memory
+     */
+    public void expand(long count, long retained) {
+        if (count > this.budget.maxExpanded() - this.expanded) {
+            throw new BudgetExceededException(SearchBudget.Limit.EXPANDED);
+        }
+        if (retained > this.budget.maxRetained()) {
+            throw new BudgetExceededException(SearchBudget.Limit.RETAINED);
+        }
+        long before = this.expanded;
+        this.expanded += count;
+        this.metrics.expanded(count, retained);
+        if (before / CHECK_INTERVAL != this.expanded / CHECK_INTERVAL) {
+            check();
+        }
+        if (count == 1 && this.expanded % SearchEvents.SAMPLE_INTERVAL == 0 && SearchEvents.isRecording()) {
+            ExpansionEvent event = new ExpansionEvent();
+            if (event.isEnabled()) {
+                event.begin();
+                this.expansionEvent = event;
+            }
+        }
+    }
+
+    /**
+     * Records the successors of one expanded config.
+     *
+     * @param count number of successors generated
+     * @param seen how many of them had been seen before
+     */
+    public void generated(int count, int seen) {
+        this.metrics.generated(count, seen);
+        ExpansionEvent event = this.expansionEvent;
+        if (event != null) {
+            this.expansionEvent = null;
+            event.successors = count;
+            event.duplicates = seen;
+            event.retained = this.metrics.getRetained();
+            event.commit();
+        }
+    }
+
+    /**
+     * Records the start of a level of a breadth-first search.
+     *
+     * @param depth number of moves from the initial config
+     * @param frontierSize number of configs in the level
+     */
+    public void level(int depth, long frontierSize) {
+        this.metrics.level(depth, frontierSize);
+        endLevel();
+        if (!SearchEvents.isRecording()) {
+            return;
+        }
+        SearchLevelEvent event = new SearchLevelEvent();
+        if (event.isEnabled()) {
+            event.depth = depth;
+            event.frontierSize = frontierSize;
+            this.levelExpanded = this.metrics.getExpanded();
+            this.levelGenerated = this.metrics.getGenerated();
+            this.levelDuplicates = this.metrics.getDuplicates();
+            event.begin();
+            this.levelEvent = event;
+        }
+    }
+
+    /**
+     * Commits the event of the level in progress, if there is one.
+     */
+    private void endLevel() {
+        SearchLevelEvent event = this.levelEvent;
+        if (event != null) {
+            this.levelEvent = null;
+            event.expanded = this.metrics.getExpanded() - this.levelExpanded;
+            event.generated = this.metrics.getGenerated() - this.levelGenerated;
+            event.duplicates = this.metrics.getDuplicates() - this.levelDuplicates;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records exactly how many bytes the configs the search keeps take,
+     * for searches that store them in their own tables.
+     *
+     * @param bytes bytes taken by the retained configs
+     */
+    public void retainedBytes(long bytes) {
+        this.metrics.retainedBytes(bytes);
+    }
+
+    /**
+     * Records that the search has finished.
+     */
+    public void finish() {
+        endLevel();
+        this.metrics.finish();
+    }
+
+    /**
+     * Looks at the clock and the cancellation token, and at whether the
+     * thread running the search has been interrupted, which cancels it too.
+     */
+    public void check() {
+        CancellationToken token = this.budget.token();
+        if ((token != null && token.isCancelled()) || Thread.currentThread().isInterrupted()) {
+            throw new BudgetExceededException(SearchBudget.Limit.CANCELLED);
+        }
+        if (System.nanoTime() - this.start > this.timeLimit) {
+            throw new BudgetExceededException(SearchBudget.Limit.TIME);
+        }
+    }
+
+    /**
+     * @return statistics of the search, which may be read from any thread
+     */
+    public SearchMetrics getMetrics() {
+        return this.metrics;
+    }
+}
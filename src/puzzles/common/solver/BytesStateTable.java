@@ -0,0 +1,166 @@
+package puzzles.common.solver;
+
+import java.util.Arrays;
+
+/**
+ * A StateTable for puzzles whose state codes do not fit in a long.
+ * Codes are packed back to back into a single byte array, so a config
+ * costs its code size plus a parent index and a hash slot.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+class BytesStateTable implements StateTable {
+    /** initial number of configs the table has room for */
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    /** most bytes of codes an array can hold */
+    private static final int MAX_CODE_BYTES = Integer.MAX_VALUE - 8;
+
+    /** config used to decode states */
+    private final Configuration template;
+    /** number of bytes in each state code */
+    private final int codeSize;
+    /** state codes of all configs, codeSize bytes each, by index, at most MAX_CODE_BYTES long */
+    private byte[] codes;
+    /** hash of each config's code, by index */
+    private int[] hashes;
+    /** parent index of each config, by index */
+    private int[] parents;
+    /** hash slots holding index + 1 of a config, or 0 if empty */
+    private int[] slots;
+    /** number of configs in the table */
+    private int size;
+
+    /**
+     * Creates an empty table.
+     *
+     * @param template any config of the puzzle, used to decode states
+     * @param codeSize number of bytes in each state code
+     */
+    BytesStateTable(Configuration template, int codeSize) {
+        this.template = template;
+        this.codeSize = codeSize;
+        this.codes = new byte[INITIAL_CAPACITY * codeSize];
+        this.hashes = new int[INITIAL_CAPACITY];
+        this.parents = new int[INITIAL_CAPACITY];
+        this.slots = new int[INITIAL_CAPACITY * 2];
+    }
+
+    @Override
+    public boolean add(Configuration config, int parent) {
+        byte[] code = config.encodeStateBytes();
+        int hash = hash(code);
+        int slot = findSlot(code, hash);
+        if (this.slots[slot] != 0) {
+            return false;
+        }
+        if (this.size == this.parents.length) {
+            grow();
+        }
+        System.arraycopy(code, 0, this.codes, this.size * this.codeSize, this.codeSize);
+        this.hashes[this.size] = hash;
+        this.parents[this.size] = parent;
+        this.slots[slot] = ++this.size;
+        if (this.size * 4L > this.slots.length * 3L) {
+            rehash();
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the room for configs, or gives what is left up to MAX_CODE_BYTES
+     * of codes, which keeps index * codeSize within an int.
+     *
+     * @throws IllegalStateException if there is no room left
+     */
+    private void grow() {
+        long capacity = Math.min(this.size * 2L, MAX_CODE_BYTES / this.codeSize);
+        if (capacity <= this.size) {
+            throw new IllegalStateException("state table is full");
+        }
+        this.codes = Arrays.copyOf(this.codes, (int) capacity * this.codeSize);
+        this.hashes = Arrays.copyOf(this.hashes, (int) capacity);
+        this.parents = Arrays.copyOf(this.parents, (int) capacity);
+    }
+
+    /**
+     * Finds the hash slot holding a code, or the empty slot it would go in.
+     *
+     * @param code state code to look for
+     * @param hash hash of the code
+     * @return slot of the code
+     */
+    private int findSlot(byte[] code, int hash) {
+        int mask = this.slots.length - 1;
+        int slot = hash & mask;
+        while (this.slots[slot] != 0) {
+            int index = this.slots[slot] - 1;
+            if (this.hashes[index] == hash && matches(index, code)) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Checks if the code stored at an index equals the given code.
+     *
+     * @param index index of a stored config
+     * @param code code to compare against
+     * @return true if the codes are equal; false otherwise
+     */
+    private boolean matches(int index, byte[] code) {
+        int from = index * this.codeSize;
+        return Arrays.equals(this.codes, from, from + this.codeSize, code, 0, this.codeSize);
+    }
+
+    /**
+     * @param code state code to hash
+     * @return a well mixed hash of the code
+     */
+    private static int hash(byte[] code) {
+        return (int) StateTable.mix(Arrays.hashCode(code));
+    }
+
+    /**
+     * Doubles the number of hash slots and re-inserts every config.
+     */
+    private void rehash() {
+        this.slots = new int[this.slots.length * 2];
+        int mask = this.slots.length - 1;
+        for (int index = 0; index < this.size; ++index) {
+            int slot = this.hashes[index] & mask;
+            while (this.slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.slots[slot] = index + 1;
+        }
+    }
+
+    @Override
+    public Configuration get(int index) {
+        int from = index * this.codeSize;
+        return this.template.decodeState(Arrays.copyOfRange(this.codes, from, from + this.codeSize));
+    }
+
+    @Override
+    public int getParent(int index) {
+        return this.parents[index];
+    }
+
+    @Override
+    public int indexOf(Configuration config) {
+        byte[] code = config.encodeStateBytes();
+        return this.slots[findSlot(code, hash(code))] - 1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return this.codes.length + (long) (this.hashes.length + this.parents.length + this.slots.length) * Integer.BYTES;
+    }
+}
@@ -0,0 +1,27 @@
+package puzzles.common.solver;
+
+/**
+ * Lets one thread ask a search running on another thread to stop.
+ * Searches check the token as part of their budget, so a cancelled
+ * search ends soon after with a budget exceeded result.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class CancellationToken {
+    /** whether cancel has been called */
+    private volatile boolean cancelled;
+
+    /**
+     * Asks every search using this token to stop.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * @return true if cancel has been called; false otherwise
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+}
@@ -0,0 +1,125 @@
+package puzzles.common.solver;
+
+import java.util.*;
+
+/**
+ * A breadth-first search that treats configs that are the same up to a
+ * symmetry of the puzzle as one config. Only the canonical representative
+ * of each symmetry class is queued and remembered, so a puzzle whose
+ * board has k symmetries explores up to k times fewer configs. The path
+ * of representatives is mapped back to the real orientation at the end,
+ * by following the successor of each real config whose representative
+ * is the next one on the path. Like BFSEngine, it tests each new config
+ * as soon as it is generated. Puzzles without symmetries behave exactly
+ * as with BFSEngine.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class CanonicalBFSEngine implements SearchEngine {
+
+    /** number of configs generated so far */
+    private int numConfigs;
+    /** unique number of configs generated so far */
+    private int uniqueNumConfigs;
+    /** meter of the budget the search may use */
+    private BudgetMeter meter = new BudgetMeter(SearchBudget.UNLIMITED);
+
+    /**
+     * Sets the default values for how many configs have been generated.
+     * Both are equal to 1, because there is always 1 config generated --
+     * the provided one.
+     */
+    public CanonicalBFSEngine() {
+        this.numConfigs = 1;
+        this.uniqueNumConfigs = 1;
+    }
+
+    @Override
+    public Optional<List<Configuration>> search(Configuration config) {
+        Configuration start = config.canonical();
+        Deque<Configuration> queue = new ArrayDeque<>();
+        Map<Configuration, Configuration> predMap = new HashMap<>();
+        queue.add(start);
+        predMap.put(start, null);
+        int depth = 0;
+        int levelLeft = 1;
+        this.meter.level(depth, levelLeft);
+        if (start.isSolution()) {
+            return Optional.of(orient(BFSEngine.buildPath(predMap, start), config));
+        }
+
+        while (!queue.isEmpty()) {
+            if (levelLeft == 0) {
+                //the queue holds exactly the next level once a level is done
+                levelLeft = queue.size();
+                this.meter.level(++depth, levelLeft);
+            }
+            --levelLeft;
+            Configuration currConfig = queue.remove();
+            if (currConfig != start) {
+                ++this.uniqueNumConfigs;
+            }
+            this.meter.expand(predMap.size());
+            int generated = this.numConfigs;
+            int queued = queue.size();
+            boolean solved = !currConfig.forEachSuccessor(childConfig -> {
+                ++this.numConfigs;
+                Configuration canonical = childConfig.canonical();
+                if (predMap.containsKey(canonical)) {
+                    return true;
+                }
+                predMap.put(canonical, currConfig);
+                queue.add(canonical);
+                return !canonical.isSolution();
+            });
+            generated = this.numConfigs - generated;
+            this.meter.generated(generated, generated - (queue.size() - queued));
+            if (solved) {
+                ++this.uniqueNumConfigs;
+                return Optional.of(orient(BFSEngine.buildPath(predMap, queue.getLast()), config));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Maps a path of representatives back to a path of real configs
+     * starting at the initial config. The path can come from any config
+     * with the same representative as the initial config, so a solution
+     * found for one orientation of a board serves all of them.
+     *
+     * @param canonicalPath representatives from the initial config's one to a solution's one
+     * @param config the initial config
+     * @return list of configs from the initial config to a solution
+     */
+    public static List<Configuration> orient(List<Configuration> canonicalPath, Configuration config) {
+        List<Configuration> path = new ArrayList<>();
+        Configuration currConfig = config;
+        path.add(currConfig);
+        for (Configuration next : canonicalPath.subList(1, canonicalPath.size())) {
+            for (Configuration childConfig : currConfig.getSuccessors()) {
+                if (childConfig.canonical().equals(next)) {
+                    currConfig = childConfig;
+                    break;
+                }
+            }
+            path.add(currConfig);
+        }
+        return path;
+    }
+
+    @Override
+    public void setBudgetMeter(BudgetMeter meter) {
+        this.meter = meter;
+    }
+
+    @Override
+    public int getNumConfigs() {
+        return numConfigs;
+    }
+
+    @Override
+    public int getUniqueNumConfigs() {
+        return uniqueNumConfigs;
+    }
+}
@@ -0,0 +1,199 @@
+package puzzles.common.solver;
+
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * A breadth-first search that stores every visited config as a compact
+ * state code instead of a Configuration object. The visited set and the
+ * predecessor map are primitive open-addressing tables, and configs are
+ * only rebuilt from their codes when they are expanded or end up on the
+ * solution path. Requires the puzzle to support state codes. Like
+ * BFSEngine, it tests each new config as soon as it is generated.
+ * The tables can also be kept off the heap in a memory-mapped file, for
+ * searches too big for the heap. If that file is kept, a search that was
+ * stopped, by its budget or by the process being killed, carries on
+ * where it left off when it is run again with the same file, and a search
+ * that finished answers straight away. A resumed search counts the configs
+ * in the file as generated, but not the duplicates found before it stopped.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class CompactBFSEngine implements SearchEngine {
+
+    /** number of configs generated so far */
+    private int numConfigs;
+    /** unique number of configs generated so far */
+    private int uniqueNumConfigs;
+    /** meter of the budget the search may use */
+    private BudgetMeter meter = new BudgetMeter(SearchBudget.UNLIMITED);
+    /** whether the tables are kept in a memory-mapped file instead of the heap */
+    private final boolean mapped;
+    /** the file the tables are kept in, or null for a temporary one */
+    private final Path tableFile;
+
+    /**
+     * Sets the default values for how many configs have been generated.
+     * Both are equal to 1, because there is always 1 config generated --
+     * the provided one.
+     */
+    public CompactBFSEngine() {
+        this.numConfigs = 1;
+        this.uniqueNumConfigs = 1;
+        this.mapped = false;
+        this.tableFile = null;
+    }
+
+    /**
+     * Creates a search that keeps its tables in a memory-mapped file.
+     *
+     * @param tableFile file to keep the tables in and resume from, or
+     *                  null for a temporary file deleted after the search
+     */
+    public CompactBFSEngine(Path tableFile) {
+        this.numConfigs = 1;
+        this.uniqueNumConfigs = 1;
+        this.mapped = true;
+        this.tableFile = tableFile;
+    }
+
+    @Override
+    public Optional<List<Configuration>> search(Configuration config) {
+        StateTable table = this.mapped
+                ? new MappedStateTable(config, this.tableFile, this.tableFile != null)
+                : StateTable.create(config);
+        try (table) {
+            //a table reopened from a file already holds the configs found
+            //by the search that made it, and the index it had got up to
+            int next = table.getResumeIndex();
+            if (table.size() == 0) {
+                table.add(config, StateTable.NO_PARENT);
+            }
+            this.numConfigs += table.size() - 1;
+
+            //the search stops as soon as it adds a solution, so only the
+            //last config can be one: the initial config of a new search,
+            //or what a search stopped after finding
+            int last = table.size() - 1;
+            Configuration lastConfig = last == 0 ? config : table.get(last);
+            if (lastConfig.isSolution()) {
+                if (last > 0) {
+                    //the configs up to the resume index were expanded, and the solution is unique too
+                    this.uniqueNumConfigs += next + 1;
+                }
+                return Optional.of(buildPath(table, last, lastConfig, config));
+            }
+            this.uniqueNumConfigs += Math.max(1, next) - 1;
+
+            //configs are numbered in the order they were found, so the
+            //table itself is the queue, and each level ends where the
+            //configs found by the one before it end
+            int depth = next < table.size() ? depthOf(table, next) : 0;
+            int levelEnd = next < table.size() ? levelEnd(table, next, depth) : next;
+            this.meter.level(depth, levelEnd - next);
+            for (; next < table.size(); ++next) {
+                if (next == levelEnd) {
+                    levelEnd = table.size();
+                    this.meter.level(++depth, levelEnd - next);
+                    this.meter.retainedBytes(table.getMemoryBytes());
+                }
+                table.setResumeIndex(next);
+                Configuration currConfig = config;
+                if (next > 0) {
+                    currConfig = table.get(next);
+                    ++this.uniqueNumConfigs;
+                }
+                this.meter.expand(table.size());
+                int parent = next;
+                int generated = this.numConfigs;
+                int added = table.size();
+                boolean solved = !currConfig.forEachSuccessor(childConfig -> {
+                    ++this.numConfigs;
+                    return !table.add(childConfig, parent) || !childConfig.isSolution();
+                });
+                generated = this.numConfigs - generated;
+                this.meter.generated(generated, generated - (table.size() - added));
+                if (solved) {
+                    int goal = table.size() - 1;
+                    ++this.uniqueNumConfigs;
+                    return Optional.of(buildPath(table, goal, table.get(goal), config));
+                }
+            }
+            table.setResumeIndex(next);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param table table of visited configs
+     * @param index index of a config
+     * @return number of moves from the initial config to the config
+     */
+    private static int depthOf(StateTable table, int index) {
+        int depth = 0;
+        for (int parent = table.getParent(index); parent != StateTable.NO_PARENT; parent = table.getParent(parent)) {
+            ++depth;
+        }
+        return depth;
+    }
+
+    /**
+     * Finds where a level ends in the table, by binary search, since
+     * configs are added in order of their depth.
+     *
+     * @param table table of visited configs
+     * @param index index of a config in the level
+     * @param depth depth of the level
+     * @return index of the first config deeper than the level
+     */
+    private static int levelEnd(StateTable table, int index, int depth) {
+        int low = index + 1;
+        int high = table.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (depthOf(table, middle) > depth) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Follows the parent indices back from the goal to the initial config.
+     *
+     * @param table table of visited configs
+     * @param goal index of the solution config
+     * @param goalConfig the solution config
+     * @param config the initial config
+     * @return list of configs from the initial config to the goal
+     */
+    private static List<Configuration> buildPath(StateTable table, int goal,
+                                                 Configuration goalConfig, Configuration config) {
+        PathEvent event = SearchEvents.beginPath();
+        List<Configuration> path = new ArrayList<>();
+        path.add(goalConfig);
+        for (int index = table.getParent(goal); index != StateTable.NO_PARENT; index = table.getParent(index)) {
+            path.add(index == 0 ? config : table.get(index));
+        }
+        Collections.reverse(path);
+        SearchEvents.endPath(event, path.size());
+        return path;
+    }
+
+    @Override
+    public void setBudgetMeter(BudgetMeter meter) {
+        this.meter = meter;
+    }
+
+    @Override
+    public int getNumConfigs() {
+        return numConfigs;
+    }
+
+    @Override
+    public int getUniqueNumConfigs() {
+        return uniqueNumConfigs;
+    }
+}
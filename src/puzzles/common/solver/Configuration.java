@@ -2,6 +2,7 @@ package puzzles.common.solver;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Represents a single config of the Puzzle.
@@ -27,6 +28,24 @@ public interface Configuration {
      */
     Collection<Configuration> getSuccessors();
 
+    /**
+     * Generates the successors of this config one at a time, handing each
+     * to a visitor as soon as it is made instead of collecting them, and
+     * stops as soon as the visitor says so. Puzzles should generate them
+     * directly; by default they are taken from getSuccessors().
+     *
+     * @param visitor receives each successor, and returns false to stop
+     * @return false if the visitor stopped early; true otherwise
+     */
+    default boolean forEachSuccessor(SuccessorVisitor visitor) {
+        for (Configuration successor : getSuccessors()) {
+            if (!visitor.visit(successor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * @return the current state of the configuration as a string
      */
@@ -38,4 +57,161 @@ public interface Configuration {
      * @return Configuration that represents the goal
      */
     Configuration getGoalConfig();
+
+    /**
+     * Gets every config that satisfies isSolution(), for puzzles where
+     * that set is known up front. By default this is just the config
+     * returned by getGoalConfig(), if there is one.
+     *
+     * @return collection of goal configs (empty if there are none),
+     * or null if they are not known
+     */
+    default Collection<Configuration> getGoalConfigs() {
+        Configuration goal = getGoalConfig();
+        return goal == null ? null : List.of(goal);
+    }
+
+    /**
+     * Checks if every move of the puzzle can be undone by another move,
+     * in which case the configs that lead to a config are exactly its
+     * successors.
+     *
+     * @return true if all moves are reversible; false otherwise
+     */
+    default boolean isReversible() {
+        return false;
+    }
+
+    /**
+     * Generates a collection of the configs that have this config
+     * as one of their successors.
+     *
+     * @return collection of configs
+     */
+    default Collection<Configuration> getPredecessors() {
+        if (isReversible()) {
+            return getSuccessors();
+        }
+        throw new UnsupportedOperationException("predecessors are not supported");
+    }
+
+    /**
+     * Gets one representative of all the configs that are the same as
+     * this one up to a symmetry of the puzzle, such as a mirror image of
+     * the board. Symmetric configs must be either all solutions or all not
+     * solutions, and their successors must be symmetric too. By default
+     * a puzzle has no symmetries and every config is its own representative.
+     *
+     * @return the same config for every config of the symmetry class
+     */
+    default Configuration canonical() {
+        return this;
+    }
+
+    /**
+     * Gets the number of bytes needed to pack a config of this puzzle into
+     * a compact state code. Every config of one puzzle uses the same size.
+     * Sizes up to 8 bytes are packed into a long by encodeState(), larger
+     * ones into a byte array by encodeStateBytes().
+     *
+     * @return size of the state code in bytes, or 0 if the puzzle
+     * does not support state codes
+     */
+    default int getStateCodeSize() {
+        return 0;
+    }
+
+    /**
+     * Packs this config into a long. Two configs of the same puzzle
+     * have the same code exactly when they are equal.
+     *
+     * @return state code of this config
+     */
+    default long encodeState() {
+        throw new UnsupportedOperationException("state codes are not supported");
+    }
+
+    /**
+     * Packs this config into a byte array, for puzzles whose state
+     * does not fit in a long.
+     *
+     * @return state code of this config
+     */
+    default byte[] encodeStateBytes() {
+        throw new UnsupportedOperationException("state codes are not supported");
+    }
+
+    /**
+     * Rebuilds a config of the same puzzle as this one from a state code.
+     *
+     * @param code state code produced by encodeState()
+     * @return the config the code represents
+     */
+    default Configuration decodeState(long code) {
+        throw new UnsupportedOperationException("state codes are not supported");
+    }
+
+    /**
+     * Rebuilds a config of the same puzzle as this one from a state code.
+     *
+     * @param code state code produced by encodeStateBytes()
+     * @return the config the code represents
+     */
+    default Configuration decodeState(byte[] code) {
+        throw new UnsupportedOperationException("state codes are not supported");
+    }
+
+    /**
+     * Describes this config along with everything about its puzzle that
+     * state codes leave out, such as a goal or the sizes of its parts, so
+     * saved states can be told apart from those of another puzzle. By
+     * default this is the display, which is enough for puzzles whose board
+     * shows all of it.
+     *
+     * @return description of the config and its puzzle
+     */
+    default String describePuzzle() {
+        return display();
+    }
+
+    /**
+     * Checks if the moves of this puzzle can be described by small move
+     * codes that undoMove() can take back, so a search can remember how
+     * it reached each config instead of the config it came from.
+     *
+     * @return true if describeMove() and undoMove() are supported; false otherwise
+     */
+    default boolean hasMoveCodes() {
+        return false;
+    }
+
+    /**
+     * Describes the move that turns this config into one of its successors.
+     *
+     * @param successor a successor of this config
+     * @return a non-negative code of the move
+     */
+    default int describeMove(Configuration successor) {
+        throw new UnsupportedOperationException("move codes are not supported");
+    }
+
+    /**
+     * Takes back a move that led to this config.
+     *
+     * @param move code of the move, as given by describeMove() on the config it was made from
+     * @return the config the move was made from
+     */
+    default Configuration undoMove(int move) {
+        throw new UnsupportedOperationException("move codes are not supported");
+    }
+
+    /**
+     * Creates a state of this puzzle that moves are made and unmade on in
+     * place, starting out the same as this config.
+     *
+     * @return a new mutable state
+     */
+    default MutableState toMutableState() {
+        throw new UnsupportedOperationException("mutable states are not supported");
+    }
 }
@@ -0,0 +1,120 @@
+package puzzles.common.solver;
+
+import java.util.Arrays;
+
+/**
+ * The number of moves from every config reachable from an initial config
+ * to the nearest solution. The reachable configs are found once with a
+ * breadth-first search, then the distances are filled in by a second
+ * breadth-first search that starts at every solution and works backwards
+ * through predecessors. After that, finding the best next move from any
+ * reachable config only takes a look at its successors. Configs are kept
+ * as compact state codes, so the puzzle must support them and must be
+ * able to generate predecessors.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class DistanceTable {
+    /** distance of a config that can't reach a solution */
+    public static final int NO_PATH = -1;
+
+    /** every config reachable from the initial config */
+    private final StateTable table;
+    /** moves to the nearest solution of each config, by table index, or NO_PATH */
+    private final short[] distances;
+
+    /**
+     * Finds every config reachable from the given one and its distance
+     * to the nearest solution.
+     *
+     * @param config the initial config
+     */
+    public DistanceTable(Configuration config) {
+        this.table = StateTable.create(config);
+        this.table.add(config, StateTable.NO_PARENT);
+
+        //the table is the queue of the forward search, and the solutions
+        //found along the way start the backward one
+        int[] queue = new int[16];
+        int solutions = 0;
+        for (int next = 0; next < this.table.size(); ++next) {
+            Configuration currConfig = next == 0 ? config : this.table.get(next);
+            if (currConfig.isSolution()) {
+                if (solutions == queue.length) {
+                    queue = Arrays.copyOf(queue, solutions * 2);
+                }
+                queue[solutions++] = next;
+            }
+            for (Configuration childConfig : currConfig.getSuccessors()) {
+                this.table.add(childConfig, next);
+            }
+        }
+
+        this.distances = new short[this.table.size()];
+        Arrays.fill(this.distances, (short) NO_PATH);
+        queue = Arrays.copyOf(queue, this.table.size());
+        for (int i = 0; i < solutions; ++i) {
+            this.distances[queue[i]] = 0;
+        }
+        int tail = solutions;
+        for (int head = 0; head < tail; ++head) {
+            int index = queue[head];
+            int distance = this.distances[index] + 1;
+            if (distance > Short.MAX_VALUE) {
+                throw new IllegalStateException("distance does not fit in the table");
+            }
+            Configuration currConfig = index == 0 ? config : this.table.get(index);
+            for (Configuration parentConfig : currConfig.getPredecessors()) {
+                int parent = this.table.indexOf(parentConfig);
+                if (parent != -1 && this.distances[parent] == NO_PATH) {
+                    this.distances[parent] = (short) distance;
+                    queue[tail++] = parent;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param config a config reachable from the initial config
+     * @return number of moves from the config to the nearest solution,
+     * or NO_PATH if it can't reach one or was not reachable from the initial config
+     */
+    public int getDistance(Configuration config) {
+        int index = this.table.indexOf(config);
+        return index == -1 ? NO_PATH : this.distances[index];
+    }
+
+    /**
+     * Finds the first successor of a config that is one move closer to a solution.
+     *
+     * @param config a config reachable from the initial config
+     * @return the next config on a shortest path to a solution, or null if
+     * the config is a solution or can't reach one
+     */
+    public Configuration getNextStep(Configuration config) {
+        int distance = getDistance(config);
+        if (distance <= 0) {
+            return null;
+        }
+        for (Configuration childConfig : config.getSuccessors()) {
+            if (getDistance(childConfig) == distance - 1) {
+                return childConfig;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return number of configs reachable from the initial config
+     */
+    public int size() {
+        return this.table.size();
+    }
+
+    /**
+     * @return number of bytes taken by the table's arrays
+     */
+    public long getMemoryBytes() {
+        return this.table.getMemoryBytes() + (long) this.distances.length * Short.BYTES;
+    }
+}
@@ -0,0 +1,33 @@
+package puzzles.common.solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for the expansion of one config, from generating
+ * its successors to looking each of them up among the configs already
+ * seen. Only one expansion in every SearchEvents.SAMPLE_INTERVAL is
+ * recorded, so recording costs little even on large searches.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+@Name("puzzles.Expansion")
+@Label("Expansion")
+@Category({"Puzzles", "Solver"})
+@Description("A sampled expansion of one config")
+@StackTrace(false)
+public class ExpansionEvent extends Event {
+    @Label("Successors")
+    int successors;
+
+    @Label("Duplicates")
+    int duplicates;
+
+    @Label("Retained")
+    @Description("Number of configs the search was keeping in memory")
+    long retained;
+}
@@ -0,0 +1,574 @@
+package puzzles.common.solver;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A breadth-first search that keeps its levels on disk instead of in the
+ * heap, for puzzles with more configs than fit in memory. Each level is a
+ * file of state codes sorted by code, each with the code of the config it
+ * was reached from. The successors of a level are collected in a buffer of
+ * fixed size, and each time it fills up they are sorted and written out as
+ * a run. Once the whole level is expanded the runs are merged, which drops
+ * the successors found more than once, and the merged codes are compared
+ * against the files of the earlier levels, which drops the ones that were
+ * already visited. Duplicates are only found then rather than when they
+ * are generated, so the heap only ever holds the buffer. For puzzles whose
+ * moves are all reversible, a successor can only have been visited in the
+ * level it came from or the one before, so only those two are compared
+ * against. The solution path is read back from the level files, one binary
+ * search per move. A successor is checked for being a solution as it is
+ * buffered, so the search stops without writing out the level after it.
+ * Requires the puzzle to support state codes.
+ * Configs within a level are expanded in the order of their codes, so
+ * the path found is a shortest one, but not always the same one as
+ * BFSEngine finds.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class ExternalBFSEngine implements SearchEngine {
+    /** most bytes of heap the successor buffer takes by default */
+    public static final long DEFAULT_BUFFER_BYTES = 64L << 20;
+    /** bytes of heap each successor takes in the buffer besides its codes */
+    private static final int RECORD_OVERHEAD = 24;
+    /** size of the stream buffer of each open file */
+    private static final int IO_BUFFER = 1 << 16;
+
+    /** bytes of heap the successor buffer may take */
+    private final long bufferBytes;
+    /** directory the files are made in, or null for the default temporary directory */
+    private final Path directory;
+    /** number of configs generated so far */
+    private int numConfigs;
+    /** unique number of configs generated so far */
+    private int uniqueNumConfigs;
+    /** meter of the budget the search may use */
+    private BudgetMeter meter = new BudgetMeter(SearchBudget.UNLIMITED);
+
+    /**
+     * Creates a search with a buffer of DEFAULT_BUFFER_BYTES, or a quarter
+     * of the largest heap if that is less, that keeps its files in the
+     * default temporary directory.
+     */
+    public ExternalBFSEngine() {
+        this(Math.min(DEFAULT_BUFFER_BYTES, Runtime.getRuntime().maxMemory() / 4), null);
+    }
+
+    /**
+     * Creates a search that keeps its files in the given directory, which
+     * is made when the search starts if it doesn't exist yet.
+     * Sets the default values for how many configs have been generated.
+     * Both are equal to 1, because there is always 1 config generated --
+     * the provided one.
+     *
+     * @param bufferBytes bytes of heap the successor buffer may take
+     * @param directory directory to make the files in, or null for the default temporary directory
+     */
+    public ExternalBFSEngine(long bufferBytes, Path directory) {
+        this.bufferBytes = bufferBytes;
+        this.directory = directory;
+        this.numConfigs = 1;
+        this.uniqueNumConfigs = 1;
+    }
+
+    @Override
+    public Optional<List<Configuration>> search(Configuration config) {
+        if (config.getStateCodeSize() <= 0) {
+            throw new IllegalArgumentException("puzzle does not support state codes");
+        }
+        if (this.directory != null && Files.exists(this.directory) && !Files.isDirectory(this.directory)) {
+            throw new IllegalArgumentException(this.directory + " is not a directory");
+        }
+        Path dir = null;
+        try {
+            if (this.directory != null) {
+                Files.createDirectories(this.directory);
+            }
+            dir = this.directory == null
+                    ? Files.createTempDirectory("bfs-")
+                    : Files.createTempDirectory(this.directory, "bfs-");
+            return search(config, new Codec(config), dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (dir != null) {
+                delete(dir);
+            }
+        }
+    }
+
+    /**
+     * Searches level by level, with the levels in files in a directory.
+     *
+     * @param config the initial config
+     * @param codec state codes of the puzzle
+     * @param dir the directory
+     * @return the path to a solution, or empty if there is none
+     * @throws IOException if a file can't be read or written
+     */
+    private Optional<List<Configuration>> search(Configuration config, Codec codec, Path dir) throws IOException {
+        if (config.isSolution()) {
+            return Optional.of(List.of(config));
+        }
+        int width = codec.width;
+        int bufferRecords = (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8,
+                this.bufferBytes / (2L * width + RECORD_OVERHEAD)));
+        Comparator<byte[]> byState = (a, b) -> Arrays.compareUnsigned(a, 0, width, b, 0, width);
+        boolean reversible = config.isReversible();
+
+        List<Path> levels = new ArrayList<>();
+        byte[] startRecord = new byte[2 * width];
+        codec.encode(config, startRecord, 0);
+        levels.add(writeRun(dir.resolve("level-0"), new byte[][]{startRecord}, 1, width));
+        long levelSize = 1;
+        Successors successors = new Successors(dir, bufferRecords, byState);
+
+        for (int depth = 0; levelSize > 0; ++depth) {
+            this.meter.level(depth, levelSize);
+            try (RecordReader level = new RecordReader(levels.get(depth), width)) {
+                while (level.advance()) {
+                    Configuration currConfig = config;
+                    if (depth > 0) {
+                        currConfig = codec.decode(level.record, 0);
+                        ++this.uniqueNumConfigs;
+                    }
+                    this.meter.expand(successors.buffered);
+                    int generated = this.numConfigs;
+                    boolean solved = !currConfig.forEachSuccessor(childConfig -> {
+                        ++this.numConfigs;
+                        byte[] record = new byte[2 * width];
+                        codec.encode(childConfig, record, 0);
+                        System.arraycopy(level.record, 0, record, width, width);
+                        try {
+                            successors.add(record);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return !childConfig.isSolution();
+                    });
+                    //duplicates are only known once the level is merged
+                    this.meter.generated(this.numConfigs - generated, 0);
+                    if (solved) {
+                        //the solution was the last successor buffered, and it counts as unique
+                        ++this.uniqueNumConfigs;
+                        byte[] goalRecord = successors.last();
+                        return Optional.of(buildPath(levels, depth + 1, goalRecord,
+                                codec.decode(goalRecord, 0), config, codec));
+                    }
+                }
+            }
+            List<Path> runs = successors.finish();
+
+            List<Path> visited = reversible
+                    ? levels.subList(Math.max(0, depth - 1), depth + 1)
+                    : levels;
+            Path next = dir.resolve("level-" + (depth + 1));
+            levelSize = merge(runs, visited, next, width);
+            levels.add(next);
+            for (Path run : runs) {
+                Files.delete(run);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Sorts the records in a buffer by state, drops the repeated states
+     * and writes the rest to a file.
+     *
+     * @param file the file
+     * @param buffer the records
+     * @param count number of records in the buffer
+     * @param byState order of records by state
+     * @return the file
+     * @throws IOException if the file can't be written
+     */
+    private static Path sortAndWrite(Path file, byte[][] buffer, int count,
+                                     Comparator<byte[]> byState) throws IOException {
+        Arrays.sort(buffer, 0, count, byState);
+        int unique = 0;
+        for (int i = 0; i < count; ++i) {
+            if (unique == 0 || byState.compare(buffer[unique - 1], buffer[i]) != 0) {
+                buffer[unique++] = buffer[i];
+            }
+        }
+        return writeRun(file, buffer, unique, buffer[0].length / 2);
+    }
+
+    /**
+     * Writes records to a file.
+     *
+     * @param file the file
+     * @param records the records
+     * @param count number of records to write
+     * @param width size of a state code in bytes
+     * @return the file
+     * @throws IOException if the file can't be written
+     */
+    private static Path writeRun(Path file, byte[][] records, int count, int width) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER)) {
+            for (int i = 0; i < count; ++i) {
+                out.write(records[i], 0, 2 * width);
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Merges sorted runs into the file of the next level, keeping one record
+     * of each state that is in none of the visited levels.
+     *
+     * @param runs the runs of successors, each sorted by state
+     * @param visited files of the levels a successor may already be in
+     * @param next file of the next level
+     * @param width size of a state code in bytes
+     * @return number of configs in the next level
+     * @throws IOException if a file can't be read or written
+     */
+    private static long merge(List<Path> runs, List<Path> visited, Path next, int width) throws IOException {
+        Comparator<RecordReader> byState = (a, b) ->
+                Arrays.compareUnsigned(a.record, 0, width, b.record, 0, width);
+        PriorityQueue<RecordReader> queue = new PriorityQueue<>(Math.max(1, runs.size()), byState);
+        List<RecordReader> levels = new ArrayList<>();
+        long count = 0;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(next), IO_BUFFER)) {
+            for (Path run : runs) {
+                RecordReader reader = new RecordReader(run, width);
+                if (reader.advance()) {
+                    queue.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            for (Path level : visited) {
+                RecordReader reader = new RecordReader(level, width);
+                levels.add(reader);
+                reader.advance();
+            }
+            byte[] last = null;
+            while (!queue.isEmpty()) {
+                RecordReader run = queue.remove();
+                byte[] record = run.record;
+                if (last == null || Arrays.compareUnsigned(last, 0, width, record, 0, width) != 0) {
+                    if (last == null) {
+                        last = new byte[2 * width];
+                    }
+                    System.arraycopy(record, 0, last, 0, 2 * width);
+                    if (!isVisited(levels, last, width)) {
+                        out.write(last);
+                        ++count;
+                    }
+                }
+                if (run.advance()) {
+                    queue.add(run);
+                } else {
+                    run.close();
+                }
+            }
+        } finally {
+            for (RecordReader reader : queue) {
+                reader.close();
+            }
+            for (RecordReader reader : levels) {
+                reader.close();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether a state is in any of the visited levels. The states
+     * asked about must come in increasing order, since each level is only
+     * read forwards.
+     *
+     * @param levels readers of the visited levels
+     * @param record record of the state
+     * @param width size of a state code in bytes
+     * @return true if a level has the state; false otherwise
+     * @throws IOException if a level can't be read
+     */
+    private static boolean isVisited(List<RecordReader> levels, byte[] record, int width) throws IOException {
+        for (RecordReader level : levels) {
+            while (level.hasRecord && Arrays.compareUnsigned(level.record, 0, width, record, 0, width) < 0) {
+                level.advance();
+            }
+            if (level.hasRecord && Arrays.compareUnsigned(level.record, 0, width, record, 0, width) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Follows the parent codes back from the goal to the initial config,
+     * looking each one up in the file of the level before.
+     *
+     * @param levels files of the levels
+     * @param depth level of the solution config
+     * @param goalRecord record of the solution config
+     * @param goalConfig the solution config
+     * @param config the initial config
+     * @param codec state codes of the puzzle
+     * @return list of configs from the initial config to the goal
+     * @throws IOException if a level can't be read
+     */
+    private static List<Configuration> buildPath(List<Path> levels, int depth, byte[] goalRecord,
+                                                 Configuration goalConfig, Configuration config,
+                                                 Codec codec) throws IOException {
+        PathEvent event = SearchEvents.beginPath();
+        int width = codec.width;
+        List<Configuration> path = new ArrayList<>();
+        path.add(goalConfig);
+        byte[] record = goalRecord.clone();
+        for (int level = depth - 1; level > 0; --level) {
+            find(levels.get(level), record, width, record);
+            path.add(codec.decode(record, 0));
+        }
+        if (depth > 0) {
+            path.add(config);
+        }
+        Collections.reverse(path);
+        SearchEvents.endPath(event, path.size());
+        return path;
+    }
+
+    /**
+     * Looks up the record of a state in a level file by binary search.
+     *
+     * @param level the level file
+     * @param child record whose parent state is looked up
+     * @param width size of a state code in bytes
+     * @param into where to read the parent's record into
+     * @throws IOException if the level can't be read, or does not have the state
+     */
+    private static void find(Path level, byte[] child, int width, byte[] into) throws IOException {
+        byte[] parent = Arrays.copyOfRange(child, width, 2 * width);
+        try (RandomAccessFile file = new RandomAccessFile(level.toFile(), "r")) {
+            long low = 0;
+            long high = file.length() / (2L * width) - 1;
+            while (low <= high) {
+                long middle = (low + high) >>> 1;
+                file.seek(middle * 2 * width);
+                file.readFully(into, 0, 2 * width);
+                int order = Arrays.compareUnsigned(into, 0, width, parent, 0, width);
+                if (order == 0) {
+                    return;
+                } else if (order < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+        }
+        throw new IOException("parent state missing from " + level);
+    }
+
+    /**
+     * Deletes a directory and everything in it, as far as possible.
+     *
+     * @param dir the directory
+     */
+    private static void delete(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            //leftover files are only temporary ones
+        }
+    }
+
+    /**
+     * The successors of one level, collected in a buffer that is sorted
+     * and written out as a run each time it fills up.
+     */
+    private static final class Successors {
+        /** directory the runs are made in */
+        private final Path dir;
+        /** most records the buffer holds */
+        private final int capacity;
+        /** order of records by state */
+        private final Comparator<byte[]> byState;
+        /** runs written so far in this level */
+        private List<Path> runs = new ArrayList<>();
+        /** the buffered records, which only grows as far as it has to */
+        private byte[][] buffer;
+        /** number of records in the buffer */
+        int buffered;
+
+        /**
+         * @param dir directory to make the runs in
+         * @param capacity most records the buffer holds
+         * @param byState order of records by state
+         */
+        Successors(Path dir, int capacity, Comparator<byte[]> byState) {
+            this.dir = dir;
+            this.capacity = capacity;
+            this.byState = byState;
+            this.buffer = new byte[Math.min(capacity, 1 << 10)][];
+        }
+
+        /**
+         * Buffers a record, writing the buffer out first if it is full.
+         *
+         * @param record the record
+         * @throws IOException if a run can't be written
+         */
+        void add(byte[] record) throws IOException {
+            if (this.buffered == this.capacity) {
+                spill();
+            }
+            if (this.buffered == this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, (int) Math.min(this.capacity, 2L * this.buffered));
+            }
+            this.buffer[this.buffered++] = record;
+        }
+
+        /**
+         * @return the record buffered last
+         */
+        byte[] last() {
+            return this.buffer[this.buffered - 1];
+        }
+
+        /**
+         * Writes out what is left in the buffer and starts over for the next level.
+         *
+         * @return the runs of the level
+         * @throws IOException if a run can't be written
+         */
+        List<Path> finish() throws IOException {
+            if (this.buffered > 0) {
+                spill();
+            }
+            Arrays.fill(this.buffer, null);
+            List<Path> level = this.runs;
+            this.runs = new ArrayList<>();
+            return level;
+        }
+
+        /**
+         * Writes the buffer out as a run and empties it.
+         *
+         * @throws IOException if the run can't be written
+         */
+        private void spill() throws IOException {
+            this.runs.add(sortAndWrite(this.dir.resolve("run-" + this.runs.size()), this.buffer,
+                    this.buffered, this.byState));
+            this.buffered = 0;
+        }
+    }
+
+    /**
+     * Reads the records of a file in order.
+     */
+    private static final class RecordReader implements Closeable {
+        /** the file's contents */
+        private final InputStream in;
+        /** the current record */
+        final byte[] record;
+        /** number of records not read yet */
+        private long left;
+        /** whether there is a current record */
+        boolean hasRecord;
+
+        /**
+         * Opens a file of records.
+         *
+         * @param file the file
+         * @param width size of a state code in bytes
+         * @throws IOException if the file can't be opened
+         */
+        RecordReader(Path file, int width) throws IOException {
+            this.record = new byte[2 * width];
+            this.left = Files.size(file) / this.record.length;
+            this.in = new BufferedInputStream(Files.newInputStream(file), IO_BUFFER);
+        }
+
+        /**
+         * Reads the next record.
+         *
+         * @return true if there was one; false at the end of the file
+         * @throws IOException if the file can't be read
+         */
+        boolean advance() throws IOException {
+            this.hasRecord = this.left > 0;
+            if (this.hasRecord) {
+                --this.left;
+                if (this.in.readNBytes(this.record, 0, this.record.length) != this.record.length) {
+                    throw new EOFException();
+                }
+            }
+            return this.hasRecord;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.in.close();
+        }
+    }
+
+    /**
+     * Turns configs into fixed size state codes in byte arrays and back.
+     * Codes that fit in a long are stored as its 8 bytes.
+     */
+    private static final class Codec {
+        /** any config of the puzzle, used to decode states */
+        private final Configuration template;
+        /** whether the codes fit in a long */
+        private final boolean longCodes;
+        /** size of a state code in bytes */
+        final int width;
+
+        /**
+         * @param config any config of the puzzle
+         */
+        Codec(Configuration config) {
+            this.template = config;
+            this.longCodes = config.getStateCodeSize() <= Long.BYTES;
+            this.width = this.longCodes ? Long.BYTES : config.getStateCodeSize();
+        }
+
+        /**
+         * @param config config to encode
+         * @param into array to write the code into
+         * @param offset where in the array to write it
+         */
+        void encode(Configuration config, byte[] into, int offset) {
+            if (this.longCodes) {
+                ByteBuffer.wrap(into, offset, Long.BYTES).putLong(config.encodeState());
+            } else {
+                System.arraycopy(config.encodeStateBytes(), 0, into, offset, this.width);
+            }
+        }
+
+        /**
+         * @param from array to read the code from
+         * @param offset where in the array it is
+         * @return the config the code represents
+         */
+        Configuration decode(byte[] from, int offset) {
+            if (this.longCodes) {
+                return this.template.decodeState(ByteBuffer.wrap(from, offset, Long.BYTES).getLong());
+            }
+            return this.template.decodeState(Arrays.copyOfRange(from, offset, offset + this.width));
+        }
+    }
+
+    @Override
+    public void setBudgetMeter(BudgetMeter meter) {
+        this.meter = meter;
+    }
+
+    @Override
+    public int getNumConfigs() {
+        return numConfigs;
+    }
+
+    @Override
+    public int getUniqueNumConfigs() {
+        return uniqueNumConfigs;
+    }
+}
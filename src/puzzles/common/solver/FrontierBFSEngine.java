@@ -0,0 +1,186 @@
+package puzzles.common.solver;
+
+import java.util.*;
+
+/**
+ * A breadth-first search for puzzles whose moves are all reversible, such
+ * as Jam and Clock, that only keeps the last three levels in memory rather
+ * than every config it has seen. When every move can be undone, the
+ * successors of a config can only be in the level before it, its own level
+ * or the next one, so those are the only levels checked for duplicates and
+ * the older ones are dropped. Each level is a StateTable, so a config only
+ * takes a few bytes while it is kept. Without the older levels there is
+ * nothing to walk back along, so the path is recovered by divide and
+ * conquer: once the goal is known to be d moves away, the search is run
+ * again and every config past level d / 2 carries, in place of a parent
+ * index, the index of the config of that level it descends from, which
+ * gives the middle of a shortest path. The two halves are solved the same
+ * way until each is a single move. Each halving searches about half as deep
+ * as the one before, so recovering the path takes a small multiple of the
+ * first search's time, in exchange for memory that only grows with the
+ * widest three levels. The counts of configs and the levels are those of
+ * the first search, so they are the same as BFSEngine's, but the budget
+ * counts the configs expanded by every search. Interrupting the search's
+ * thread stops it through its meter, whichever search is running.
+ * Requires the puzzle to support state codes.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class FrontierBFSEngine implements SearchEngine {
+    /** middle level of a search that records no ancestors */
+    private static final int NO_MIDDLE = -1;
+
+    /** number of configs generated so far */
+    private int numConfigs;
+    /** unique number of configs generated so far */
+    private int uniqueNumConfigs;
+    /** meter of the budget the search may use */
+    private BudgetMeter meter = new BudgetMeter(SearchBudget.UNLIMITED);
+
+    /**
+     * A config found by a search.
+     *
+     * @param config the config found
+     * @param depth number of moves from the config searched from
+     * @param middle the config of the middle level it descends from, or null if none was recorded
+     */
+    private record Found(Configuration config, int depth, Configuration middle) {}
+
+    /**
+     * Sets the default values for how many configs have been generated.
+     * Both are equal to 1, because there is always 1 config generated --
+     * the provided one.
+     */
+    public FrontierBFSEngine() {
+        this.numConfigs = 1;
+        this.uniqueNumConfigs = 1;
+    }
+
+    @Override
+    public Optional<List<Configuration>> search(Configuration config) {
+        if (!config.isReversible()) {
+            throw new IllegalArgumentException("puzzle has moves that can't be undone");
+        }
+        if (config.getStateCodeSize() <= 0) {
+            throw new IllegalArgumentException("puzzle does not support state codes");
+        }
+        Found goal = searchFrom(config, null, NO_MIDDLE, true);
+        if (goal == null) {
+            return Optional.empty();
+        }
+
+        PathEvent event = SearchEvents.beginPath();
+        List<Configuration> path = new ArrayList<>();
+        path.add(config);
+        recoverPath(config, goal.config(), goal.depth(), path);
+        SearchEvents.endPath(event, path.size());
+        return Optional.of(path);
+    }
+
+    /**
+     * Adds the configs of a shortest path between two configs to a path,
+     * by finding the middle of it and recovering each half.
+     *
+     * @param from config the path starts from, already in the path
+     * @param to config the path ends at
+     * @param distance number of moves between the two
+     * @param path list of configs to add the configs after from to
+     */
+    private void recoverPath(Configuration from, Configuration to, int distance, List<Configuration> path) {
+        if (distance <= 1) {
+            if (distance == 1) {
+                path.add(to);
+            }
+            return;
+        }
+        int half = distance / 2;
+        //the target is known to be reachable, so it is always found
+        Found found = searchFrom(from, to, half, false);
+        recoverPath(from, found.middle(), half, path);
+        recoverPath(found.middle(), to, distance - half, path);
+    }
+
+    /**
+     * Searches level by level from a config, keeping only the last three levels.
+     *
+     * @param start config to search from
+     * @param target config to search for, or null to search for any solution
+     * @param middle level whose configs the later configs record as their ancestor, or NO_MIDDLE
+     * @param counted true to count the configs and levels of this search; false otherwise
+     * @return the config found, or null if there is none
+     */
+    private Found searchFrom(Configuration start, Configuration target, int middle, boolean counted) {
+        if (target == null ? start.isSolution() : start.equals(target)) {
+            return new Found(start, 0, middle == 0 ? start : null);
+        }
+        StateTable previous = StateTable.create(start);
+        StateTable current = StateTable.create(start);
+        current.add(start, 0);
+        StateTable middleLevel = middle == 0 ? current : null;
+
+        for (int depth = 0; current.size() > 0; ++depth) {
+            if (counted) {
+                this.meter.level(depth, current.size());
+            }
+            boolean childrenInMiddle = depth + 1 == middle;
+            StateTable next = StateTable.create(start);
+            if (childrenInMiddle) {
+                middleLevel = next;
+            }
+            for (int index = 0; index < current.size(); ++index) {
+                Configuration currConfig = depth == 0 ? start : current.get(index);
+                if (counted && depth > 0) {
+                    //every config in a level was new when it was added
+                    ++this.uniqueNumConfigs;
+                }
+                this.meter.expand((long) previous.size() + current.size() + next.size());
+                int ancestor = current.getParent(index);
+                int generated = this.numConfigs;
+                int added = next.size();
+                StateTable last = previous;
+                StateTable same = current;
+                boolean found = !currConfig.forEachSuccessor(childConfig -> {
+                    if (counted) {
+                        ++this.numConfigs;
+                    }
+                    if (last.indexOf(childConfig) != -1 || same.indexOf(childConfig) != -1
+                            || !next.add(childConfig, childrenInMiddle ? next.size() : ancestor)) {
+                        return true;
+                    }
+                    return target == null ? !childConfig.isSolution() : !childConfig.equals(target);
+                });
+                if (counted) {
+                    generated = this.numConfigs - generated;
+                    this.meter.generated(generated, generated - (next.size() - added));
+                }
+                if (found) {
+                    if (counted) {
+                        //the solution was the last config added, and it counts as unique
+                        ++this.uniqueNumConfigs;
+                    }
+                    int goal = next.size() - 1;
+                    return new Found(next.get(goal), depth + 1,
+                            middleLevel == null ? null : middleLevel.get(next.getParent(goal)));
+                }
+            }
+            previous = current;
+            current = next;
+        }
+        return null;
+    }
+
+    @Override
+    public void setBudgetMeter(BudgetMeter meter) {
+        this.meter = meter;
+    }
+
+    @Override
+    public int getNumConfigs() {
+        return numConfigs;
+    }
+
+    @Override
+    public int getUniqueNumConfigs() {
+        return uniqueNumConfigs;
+    }
+}
@@ -0,0 +1,21 @@
+package puzzles.common.solver;
+
+/**
+ * Estimates how many moves are left from a config to a solution,
+ * to guide an informed search. For the search to still find a
+ * shortest path the estimate must be admissible, meaning it never
+ * overestimates the real number of moves.
+ *
+ * @param <C> the type of config this heuristic understands
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public interface Heuristic<C extends Configuration> {
+    /**
+     * Estimates the number of moves from a config to a solution.
+     *
+     * @param config config to estimate
+     * @return a lower bound on the number of moves left, 0 for a solution
+     */
+    int estimate(C config);
+}
@@ -0,0 +1,126 @@
+package puzzles.common.solver;
+
+import java.util.*;
+
+/**
+ * Iterative deepening A*. Runs depth-first searches that give up on any
+ * config whose moves so far plus estimated moves left exceed a bound,
+ * raising the bound to the smallest value that was cut off each time.
+ * Only the current path is kept in memory, at the cost of expanding
+ * configs again in every iteration. With an admissible heuristic the
+ * path found is a shortest one.
+ *
+ * @param <C> the type of config the heuristic understands
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class IDAStarEngine<C extends Configuration> implements SearchEngine {
+
+    /** returned by a depth-first search that reached a solution */
+    private static final int FOUND = -1;
+
+    /** estimate of the moves left from a config */
+    private final Heuristic<C> heuristic;
+    /** number of configs generated so far */
+    private int numConfigs;
+    /** number of configs expanded so far, including repeats */
+    private int uniqueNumConfigs;
+    /** meter of the budget the search may use */
+    private BudgetMeter meter = new BudgetMeter(SearchBudget.UNLIMITED);
+
+    /**
+     * Creates an engine guided by the given heuristic.
+     *
+     * @param heuristic admissible estimate of the moves left from a config
+     */
+    public IDAStarEngine(Heuristic<C> heuristic) {
+        this.heuristic = heuristic;
+        this.numConfigs = 1;
+        this.uniqueNumConfigs = 1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<List<Configuration>> search(Configuration config) {
+        List<Configuration> path = new ArrayList<>();
+        Set<Configuration> onPath = new HashSet<>();
+        int bound = this.heuristic.estimate((C) config);
+        while (true) {
+            int next = search(config, 0, bound, path, onPath);
+            if (next == FOUND) {
+                return Optional.of(path);
+            }
+            if (next == Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            bound = next;
+        }
+    }
+
+    /**
+     * Depth-first search below a config, cut off at a bound.
+     *
+     * @param currConfig config to search from
+     * @param cost number of moves from the initial config
+     * @param bound largest cost plus estimate to expand
+     * @param path configs from the initial config to currConfig, exclusive
+     * @param onPath the configs of path, to avoid going around in cycles
+     * @return FOUND if a solution was reached and path holds it; otherwise the
+     * smallest cost plus estimate that was cut off, or Integer.MAX_VALUE if none was
+     */
+    @SuppressWarnings("unchecked")
+    private int search(Configuration currConfig, int cost, int bound,
+                       List<Configuration> path, Set<Configuration> onPath) {
+        int total = cost + this.heuristic.estimate((C) currConfig);
+        if (total > bound) {
+            return total;
+        }
+        if (cost > 0) {
+            ++this.uniqueNumConfigs;
+        }
+        path.add(currConfig);
+        if (currConfig.isSolution()) {
+            return FOUND;
+        }
+        this.meter.expand(path.size());
+        onPath.add(currConfig);
+        int smallest = Integer.MAX_VALUE;
+        Collection<Configuration> successors = currConfig.getSuccessors();
+        int seen = 0;
+        for (Configuration childConfig : successors) {
+            ++this.numConfigs;
+            if (onPath.contains(childConfig)) {
+                ++seen;
+                continue;
+            }
+            int result = search(childConfig, cost + 1, bound, path, onPath);
+            if (result == FOUND) {
+                return FOUND;
+            }
+            smallest = Math.min(smallest, result);
+        }
+        this.meter.generated(successors.size(), seen);
+        onPath.remove(currConfig);
+        path.remove(path.size() - 1);
+        return smallest;
+    }
+
+    @Override
+    public void setBudgetMeter(BudgetMeter meter) {
+        this.meter = meter;
+    }
+
+    @Override
+    public int getNumConfigs() {
+        return numConfigs;
+    }
+
+    /**
+     * @return number of configurations expanded over all iterations,
+     * counting a config again each time it is revisited
+     */
+    @Override
+    public int getUniqueNumConfigs() {
+        return uniqueNumConfigs;
+    }
+}
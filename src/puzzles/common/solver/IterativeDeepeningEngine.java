@@ -0,0 +1,302 @@
+package puzzles.common.solver;
+
+import java.util.*;
+
+/**
+ * Iterative deepening depth-first search that makes and unmakes moves on a
+ * single MutableState, with a transposition table of fixed size, for hosts
+ * with little memory. The path found is a shortest one. If the table is
+ * too small to prove there is no solution, the search throws a
+ * BudgetExceededException for the RETAINED limit. Requires the puzzle to
+ * support mutable states.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class IterativeDeepeningEngine implements SearchEngine {
+    /** number of slots of the transposition table by default */
+    public static final int DEFAULT_TABLE_SIZE = 1 << 16;
+    /** returned by a depth-first search that reached no solution */
+    private static final int NOT_FOUND = -1;
+    /** number of slots a new config may replace a config in once the table is full */
+    private static final int PROBES = 8;
+
+    /** number of slots of the transposition table, a power of 2 */
+    private final int slots;
+    /** most configs the transposition table holds before it replaces them */
+    private final int maxStored;
+    /** number of bytes in each state code */
+    private int width;
+    /** hash of the config in each slot of the transposition table */
+    private long[] tableHashes;
+    /** state code of the config in each slot of the transposition table */
+    private byte[] tableCodes;
+    /** fewest moves plus 1 the config in each slot was reached in, or 0 if the slot is empty */
+    private int[] tableMoves;
+    /** buffer of the moves from the config at each depth of the current path */
+    private int[][] moveBuffers;
+    /** the move made at each depth of the current path */
+    private int[] pathMoves;
+    /** hash of the config at each depth of the current path */
+    private long[] pathHashes;
+    /** state code of the config at each depth of the current path */
+    private byte[] pathCodes;
+    /** state code of the config just reached */
+    private byte[] code;
+    /** whether the current iteration cut off any config at the bound */
+    private boolean cutOff;
+    /** number of configs in the transposition table */
+    private int stored;
+    /** whether the current iteration replaced any config in the transposition table */
+    private boolean evicted;
+    /** number of configs generated so far */
+    private int numConfigs;
+    /** most configs stored in the transposition table in one iteration */
+    private int uniqueNumConfigs;
+    /** meter of the budget the search may use */
+    private BudgetMeter meter = new BudgetMeter(SearchBudget.UNLIMITED);
+
+    /**
+     * Creates a search with a transposition table of DEFAULT_TABLE_SIZE slots.
+     */
+    public IterativeDeepeningEngine() {
+        this(DEFAULT_TABLE_SIZE);
+    }
+
+    /**
+     * Creates a search with a transposition table of the given size.
+     * Sets the default values for how many configs have been generated.
+     * Both are equal to 1, because there is always 1 config generated --
+     * the provided one.
+     *
+     * @param tableSize number of slots of the transposition table, rounded
+     *                  down to a power of 2; three quarters of them are filled
+     */
+    public IterativeDeepeningEngine(int tableSize) {
+        this.slots = Math.max(PROBES, Integer.highestOneBit(tableSize));
+        this.maxStored = this.slots / 4 * 3;
+        this.numConfigs = 1;
+        this.uniqueNumConfigs = 1;
+    }
+
+    @Override
+    public Optional<List<Configuration>> search(Configuration config) {
+        MutableState state = config.toMutableState();
+        this.width = state.getStateCodeSize();
+        this.tableHashes = new long[this.slots];
+        this.tableCodes = new byte[this.slots * this.width];
+        this.tableMoves = new int[this.slots];
+        this.moveBuffers = new int[0][];
+        this.pathMoves = new int[0];
+        this.pathHashes = new long[0];
+        this.pathCodes = new byte[0];
+        this.code = new byte[this.width];
+
+        //a bound with no config cut off has reached every config, so there is
+        //no solution; while no config was replaced, the table holds every
+        //config within the bound, so a bound that reaches no more configs
+        //than the one before proves the same
+        int lastStored = 0;
+        for (int bound = 0; ; ++bound) {
+            //buffers only grow between iterations, never during one
+            int depths = bound + 1;
+            this.moveBuffers = Arrays.copyOf(this.moveBuffers, depths);
+            this.moveBuffers[bound] = new int[state.getMaxMoves()];
+            this.pathMoves = Arrays.copyOf(this.pathMoves, depths);
+            this.pathHashes = Arrays.copyOf(this.pathHashes, depths);
+            this.pathCodes = Arrays.copyOf(this.pathCodes, depths * this.width);
+            Arrays.fill(this.tableMoves, 0);
+            this.stored = 0;
+            this.cutOff = false;
+            this.evicted = false;
+
+            state.encodeState(this.code, 0);
+            this.pathHashes[0] = state.getHash();
+            System.arraycopy(this.code, 0, this.pathCodes, 0, this.width);
+            isRepeat(state.getHash(), 0);
+            int depth = search(state, 0, bound);
+            this.uniqueNumConfigs = Math.max(this.uniqueNumConfigs, this.stored);
+            if (depth != NOT_FOUND) {
+                return Optional.of(buildPath(state, depth));
+            }
+            if (!this.cutOff) {
+                return Optional.empty();
+            }
+            if (this.evicted) {
+                //configs were lost, so counting proves nothing; deeper bounds
+                //still find a shortest solution, but past the size of the
+                //table the search gives up rather than deepen forever
+                if (bound >= this.maxStored) {
+                    throw new BudgetExceededException(SearchBudget.Limit.RETAINED);
+                }
+                lastStored = -1;
+                continue;
+            }
+            if (this.stored == lastStored) {
+                return Optional.empty();
+            }
+            lastStored = this.stored;
+        }
+    }
+
+    /**
+     * Depth-first search below the current state, cut off at a bound.
+     * The state is left at the solution if one is found, and as it was otherwise.
+     *
+     * @param state the state to search from
+     * @param depth number of moves from the initial config
+     * @param bound most moves from the initial config to search
+     * @return number of moves to the solution found, or NOT_FOUND
+     */
+    private int search(MutableState state, int depth, int bound) {
+        if (state.isSolution()) {
+            return depth;
+        }
+        int[] moves = this.moveBuffers[depth];
+        int count = state.getMoves(moves);
+        if (depth == bound) {
+            this.cutOff |= count > 0;
+            return NOT_FOUND;
+        }
+        this.meter.expand(this.stored);
+        int seen = 0;
+        for (int i = 0; i < count; ++i) {
+            ++this.numConfigs;
+            state.makeMove(moves[i]);
+            long hash = state.getHash();
+            state.encodeState(this.code, 0);
+            if (isOnPath(hash, depth) || isRepeat(hash, depth + 1)) {
+                ++seen;
+                state.unmakeMove(moves[i]);
+                continue;
+            }
+            this.pathMoves[depth] = moves[i];
+            this.pathHashes[depth + 1] = hash;
+            System.arraycopy(this.code, 0, this.pathCodes, (depth + 1) * this.width, this.width);
+            int found = search(state, depth + 1, bound);
+            if (found != NOT_FOUND) {
+                return found;
+            }
+            state.unmakeMove(moves[i]);
+        }
+        this.meter.generated(count, seen);
+        return NOT_FOUND;
+    }
+
+    /**
+     * @param hash hash of the config just reached, whose code is in this.code
+     * @param depth depth of the last config of the current path
+     * @return true if the config is on the current path; false otherwise
+     */
+    private boolean isOnPath(long hash, int depth) {
+        for (int i = 0; i <= depth; ++i) {
+            if (this.pathHashes[i] == hash && Arrays.equals(this.pathCodes, i * this.width,
+                    (i + 1) * this.width, this.code, 0, this.width)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Looks the config just reached up in the transposition table, and
+     * records it there if it is new or was reached in fewer moves than before.
+     * A config reached again in as many moves or more can be skipped, since
+     * everything below it has been searched with at least as much of the
+     * bound left. Configs are matched by their hash and then their full
+     * state code, so two configs are never taken for one. Once the table is
+     * three quarters full, a new config replaces the one reached in the
+     * most moves among the first slots it could go in, which keeps the
+     * configs near the start that prune the most; nothing is ever emptied,
+     * so every probe sequence stays whole.
+     *
+     * @param hash hash of the config, whose code is in this.code
+     * @param depth number of moves it was reached in
+     * @return true if it was reached in as few moves before in this iteration; false otherwise
+     */
+    private boolean isRepeat(long hash, int depth) {
+        int mask = this.slots - 1;
+        int home = (int) StateTable.mix(hash) & mask;
+        int deepest = -1;
+        for (int probe = 0; ; ++probe) {
+            int slot = (home + probe) & mask;
+            int moves = this.tableMoves[slot];
+            if (moves == 0) {
+                if (this.stored < this.maxStored) {
+                    ++this.stored;
+                    store(slot, hash, depth);
+                    return false;
+                }
+                break;
+            }
+            if (this.tableHashes[slot] == hash && Arrays.equals(this.tableCodes, slot * this.width,
+                    (slot + 1) * this.width, this.code, 0, this.width)) {
+                if (moves <= depth + 1) {
+                    return true;
+                }
+                this.tableMoves[slot] = depth + 1;
+                return false;
+            }
+            if (probe < PROBES && (deepest < 0 || moves > this.tableMoves[deepest])) {
+                deepest = slot;
+            }
+        }
+        //the table is full, so the config reached in the most moves nearby makes room
+        this.evicted = true;
+        if (deepest >= 0) {
+            store(deepest, hash, depth);
+        }
+        return false;
+    }
+
+    /**
+     * @param slot slot of the transposition table to put the config just reached in
+     * @param hash hash of the config, whose code is in this.code
+     * @param depth number of moves it was reached in
+     */
+    private void store(int slot, long hash, int depth) {
+        this.tableHashes[slot] = hash;
+        this.tableMoves[slot] = depth + 1;
+        System.arraycopy(this.code, 0, this.tableCodes, slot * this.width, this.width);
+    }
+
+    /**
+     * Unmakes the moves of the current path from the solution back to the
+     * initial config, taking a config of each state on the way.
+     *
+     * @param state the state, at the solution
+     * @param depth number of moves to the solution
+     * @return list of configs from the initial config to the solution
+     */
+    private List<Configuration> buildPath(MutableState state, int depth) {
+        PathEvent event = SearchEvents.beginPath();
+        List<Configuration> path = new ArrayList<>();
+        path.add(state.toConfiguration());
+        for (int i = depth - 1; i >= 0; --i) {
+            state.unmakeMove(this.pathMoves[i]);
+            path.add(state.toConfiguration());
+        }
+        Collections.reverse(path);
+        SearchEvents.endPath(event, path.size());
+        return path;
+    }
+
+    @Override
+    public void setBudgetMeter(BudgetMeter meter) {
+        this.meter = meter;
+    }
+
+    @Override
+    public int getNumConfigs() {
+        return numConfigs;
+    }
+
+    /**
+     * @return most configurations stored in the transposition table in one
+     * iteration, each counted when it is first stored; while the table has
+     * room, that is every config the search reached
+     */
+    @Override
+    public int getUniqueNumConfigs() {
+        return uniqueNumConfigs;
+    }
+}
@@ -0,0 +1,115 @@
+package puzzles.common.solver;
+
+import java.util.Arrays;
+
+/**
+ * A StateTable for puzzles whose state codes fit in a long.
+ * Codes and parents are kept in primitive arrays indexed by the order
+ * configs were added, and an open-addressing array of indices is used
+ * to look codes up.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+class LongStateTable implements StateTable {
+    /** initial number of configs the table has room for */
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    /** config used to decode states */
+    private final Configuration template;
+    /** state code of each config, by index */
+    private long[] codes;
+    /** parent index of each config, by index */
+    private int[] parents;
+    /** hash slots holding index + 1 of a config, or 0 if empty */
+    private int[] slots;
+    /** number of configs in the table */
+    private int size;
+
+    /**
+     * Creates an empty table.
+     *
+     * @param template any config of the puzzle, used to decode states
+     */
+    LongStateTable(Configuration template) {
+        this.template = template;
+        this.codes = new long[INITIAL_CAPACITY];
+        this.parents = new int[INITIAL_CAPACITY];
+        this.slots = new int[INITIAL_CAPACITY * 2];
+    }
+
+    @Override
+    public boolean add(Configuration config, int parent) {
+        long code = config.encodeState();
+        int slot = findSlot(code);
+        if (this.slots[slot] != 0) {
+            return false;
+        }
+        if (this.size == this.codes.length) {
+            this.codes = Arrays.copyOf(this.codes, this.size * 2);
+            this.parents = Arrays.copyOf(this.parents, this.size * 2);
+        }
+        this.codes[this.size] = code;
+        this.parents[this.size] = parent;
+        this.slots[slot] = ++this.size;
+        if (this.size * 4L > this.slots.length * 3L) {
+            rehash();
+        }
+        return true;
+    }
+
+    /**
+     * Finds the hash slot holding a code, or the empty slot it would go in.
+     *
+     * @param code state code to look for
+     * @return slot of the code
+     */
+    private int findSlot(long code) {
+        int mask = this.slots.length - 1;
+        int slot = (int) StateTable.mix(code) & mask;
+        while (this.slots[slot] != 0 && this.codes[this.slots[slot] - 1] != code) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Doubles the number of hash slots and re-inserts every config.
+     */
+    private void rehash() {
+        this.slots = new int[this.slots.length * 2];
+        int mask = this.slots.length - 1;
+        for (int index = 0; index < this.size; ++index) {
+            int slot = (int) StateTable.mix(this.codes[index]) & mask;
+            while (this.slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.slots[slot] = index + 1;
+        }
+    }
+
+    @Override
+    public Configuration get(int index) {
+        return this.template.decodeState(this.codes[index]);
+    }
+
+    @Override
+    public int getParent(int index) {
+        return this.parents[index];
+    }
+
+    @Override
+    public int indexOf(Configuration config) {
+        return this.slots[findSlot(config.encodeState())] - 1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return (long) this.codes.length * Long.BYTES + (long) this.parents.length * Integer.BYTES
+                + (long) this.slots.length * Integer.BYTES;
+    }
+}
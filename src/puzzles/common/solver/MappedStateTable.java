@@ -0,0 +1,418 @@
+package puzzles.common.solver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A StateTable kept off the heap, in memory-mapped files, so hundreds of
+ * millions of configs neither fill the heap nor give the garbage collector
+ * anything to scan. The state code and parent index of each config are
+ * stored by index in one file, after a small header. The open-addressing
+ * slots that look codes up are kept in a second, scratch file next to it,
+ * with .slots added to its name, which is rebuilt from the codes whenever
+ * the table is opened, so the first file is all that has to survive.
+ * The table can be persisted: closing it then leaves its file in place
+ * with the number of configs and the index a search had got up to in the
+ * header, and opening the same file again for the same initial config
+ * carries on from there, even after the process was killed. The header
+ * also holds a fingerprint of the puzzle, from the config's class, its
+ * state code size and its full description, so a file saved for another
+ * puzzle is refused even when its codes would fit.
+ * Files are mapped in chunks, since one mapping can't be more than 2 GB.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+class MappedStateTable implements StateTable {
+    /** first bytes of every table file */
+    private static final long MAGIC = 0x4246535374617465L;
+    /** position of the state code size in the header */
+    private static final int WIDTH_AT = 8;
+    /** position of the number of configs in the header */
+    private static final int SIZE_AT = 12;
+    /** position of the resume index in the header */
+    private static final int RESUME_AT = 16;
+    /** position of the puzzle's fingerprint in the header */
+    private static final int FINGERPRINT_AT = 24;
+    /** number of bytes in the header */
+    private static final int HEADER_BYTES = 64;
+    /** most bytes in one mapping */
+    private static final long CHUNK_BYTES = 1L << 30;
+    /** initial number of configs the table has room for */
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    /** config used to decode states */
+    private final Configuration template;
+    /** whether state codes fit in a long */
+    private final boolean longCodes;
+    /** number of bytes in each state code */
+    private final int width;
+    /** number of bytes in each config's record: its code then its parent index */
+    private final int stride;
+    /** position of the first record, after the header */
+    private final long dataStart;
+    /** the table file */
+    private final Path file;
+    /** whether the table file is kept when the table is closed */
+    private final boolean persist;
+    /** header and records */
+    private final Region states;
+    /** hash slots holding index + 1 of a config, or 0 if empty */
+    private Region slots;
+    /** the file of the hash slots */
+    private final Path slotsFile;
+    /** number of hash slots, a power of 2 */
+    private long slotCount;
+    /** number of configs there is room for */
+    private long capacity;
+    /** number of configs in the table */
+    private int size;
+    /** scratch space for comparing byte codes */
+    private final byte[] scratch;
+
+    /**
+     * Opens a table in a file, creating it if the file is missing or empty.
+     *
+     * @param template any config of the puzzle, used to decode states
+     * @param file the table file, or null for a new temporary one
+     * @param persist whether to keep the file once the table is closed
+     * @throws IllegalArgumentException if the file holds a table of another puzzle
+     * @throws UncheckedIOException if the file can't be mapped
+     */
+    MappedStateTable(Configuration template, Path file, boolean persist) {
+        int codeSize = template.getStateCodeSize();
+        if (codeSize <= 0) {
+            throw new IllegalArgumentException("puzzle does not support state codes");
+        }
+        this.template = template;
+        this.longCodes = codeSize <= Long.BYTES;
+        this.width = this.longCodes ? Long.BYTES : codeSize;
+        this.stride = this.width + Integer.BYTES;
+        this.dataStart = (HEADER_BYTES + this.stride - 1) / this.stride * this.stride;
+        this.scratch = new byte[this.width];
+        try {
+            this.file = file != null ? file : Files.createTempFile("states-", ".bin");
+            this.persist = persist && file != null;
+            this.slotsFile = this.file.resolveSibling(this.file.getFileName() + ".slots");
+            long length = Files.exists(this.file) ? Files.size(this.file) : 0;
+            this.states = new Region(this.file, CHUNK_BYTES / this.stride * this.stride,
+                    Math.max(length, this.dataStart + (long) INITIAL_CAPACITY * this.stride));
+            long fingerprint = fingerprint(template);
+            if (length == 0) {
+                this.states.putLong(0, MAGIC);
+                this.states.putInt(WIDTH_AT, this.width);
+                this.states.putLong(FINGERPRINT_AT, fingerprint);
+            } else if (this.states.getLong(0) != MAGIC || this.states.getInt(WIDTH_AT) != this.width
+                    || this.states.getLong(FINGERPRINT_AT) != fingerprint) {
+                this.states.close();
+                throw new IllegalArgumentException(this.file + " is not a state table of this puzzle");
+            }
+            this.capacity = (this.states.length - this.dataStart) / this.stride;
+            this.size = this.states.getInt(SIZE_AT);
+            rehash(Math.max(INITIAL_CAPACITY * 2L, Long.highestOneBit(Math.max(1, this.size * 2L)) * 2));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (this.size > 0 && indexOf(template) != 0) {
+            close();
+            throw new IllegalArgumentException(this.file + " holds a search from another initial config");
+        }
+    }
+
+    /**
+     * @param template the initial config of the puzzle
+     * @return 64 bit hash of the config's class, state code size and description
+     */
+    private static long fingerprint(Configuration template) {
+        String puzzle = template.getClass().getName() + "\n" + template.getStateCodeSize()
+                + "\n" + template.describePuzzle();
+        long hash = 0;
+        for (byte b : puzzle.getBytes(StandardCharsets.UTF_8)) {
+            hash = StateTable.mix(hash ^ b);
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean add(Configuration config, int parent) {
+        long slot = findSlot(config);
+        if (this.slots.getInt(slot * Integer.BYTES) != 0) {
+            return false;
+        }
+        if (this.size == Integer.MAX_VALUE - 1) {
+            throw new IllegalStateException("state table is full");
+        }
+        if (this.size == this.capacity) {
+            this.capacity *= 2;
+            resize(this.states, this.dataStart + this.capacity * this.stride);
+        }
+        long at = record(this.size);
+        if (this.longCodes) {
+            this.states.putLong(at, config.encodeState());
+        } else {
+            this.states.put(at, config.encodeStateBytes());
+        }
+        this.states.putInt(at + this.width, parent);
+        this.slots.putInt(slot * Integer.BYTES, ++this.size);
+        this.states.putInt(SIZE_AT, this.size);
+        if (this.size * 4L > this.slotCount * 3L) {
+            rehash(this.slotCount * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @param index index of a config
+     * @return position of the config's record in the table file
+     */
+    private long record(int index) {
+        return this.dataStart + (long) index * this.stride;
+    }
+
+    /**
+     * Finds the hash slot holding a config's code, or the empty slot it would go in.
+     *
+     * @param config config to look for
+     * @return slot of the config
+     */
+    private long findSlot(Configuration config) {
+        long mask = this.slotCount - 1;
+        if (this.longCodes) {
+            long code = config.encodeState();
+            long slot = StateTable.mix(code) & mask;
+            for (int entry; (entry = this.slots.getInt(slot * Integer.BYTES)) != 0; slot = (slot + 1) & mask) {
+                if (this.states.getLong(record(entry - 1)) == code) {
+                    break;
+                }
+            }
+            return slot;
+        }
+        byte[] code = config.encodeStateBytes();
+        long slot = StateTable.mix(Arrays.hashCode(code)) & mask;
+        for (int entry; (entry = this.slots.getInt(slot * Integer.BYTES)) != 0; slot = (slot + 1) & mask) {
+            this.states.get(record(entry - 1), this.scratch);
+            if (Arrays.equals(this.scratch, code)) {
+                break;
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Replaces the file of hash slots with an empty one and inserts every
+     * config into it. The old slots are not needed, since the codes are
+     * hashed again from the table file.
+     *
+     * @param count number of hash slots, a power of 2
+     * @throws UncheckedIOException if the file can't be mapped
+     */
+    private void rehash(long count) {
+        if (this.slots != null) {
+            this.slots.close();
+        }
+        try {
+            //deleting rather than truncating leaves the old mappings valid until they are collected
+            Files.deleteIfExists(this.slotsFile);
+            this.slots = new Region(this.slotsFile, CHUNK_BYTES, count * Integer.BYTES);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.slotCount = count;
+        long mask = count - 1;
+        for (int index = 0; index < this.size; ++index) {
+            long at = record(index);
+            long slot;
+            if (this.longCodes) {
+                slot = StateTable.mix(this.states.getLong(at)) & mask;
+            } else {
+                this.states.get(at, this.scratch);
+                slot = StateTable.mix(Arrays.hashCode(this.scratch)) & mask;
+            }
+            while (this.slots.getInt(slot * Integer.BYTES) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.slots.putInt(slot * Integer.BYTES, index + 1);
+        }
+    }
+
+    /**
+     * Grows a region, wrapping the IOException.
+     *
+     * @param region the region
+     * @param length its new length in bytes
+     */
+    private static void resize(Region region, long length) {
+        try {
+            region.resize(length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Configuration get(int index) {
+        long at = record(index);
+        if (this.longCodes) {
+            return this.template.decodeState(this.states.getLong(at));
+        }
+        byte[] code = new byte[this.width];
+        this.states.get(at, code);
+        return this.template.decodeState(code);
+    }
+
+    @Override
+    public int getParent(int index) {
+        return this.states.getInt(record(index) + this.width);
+    }
+
+    @Override
+    public int indexOf(Configuration config) {
+        return this.slots.getInt(findSlot(config) * Integer.BYTES) - 1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return this.states.length + this.slots.length;
+    }
+
+    @Override
+    public int getResumeIndex() {
+        return this.states.getInt(RESUME_AT);
+    }
+
+    @Override
+    public void setResumeIndex(int index) {
+        this.states.putInt(RESUME_AT, index);
+    }
+
+    /**
+     * Unmaps the table. A persisted table's file is written out and kept;
+     * otherwise it is deleted, like the file of hash slots always is.
+     */
+    @Override
+    public void close() {
+        if (this.persist) {
+            this.states.force();
+        }
+        this.states.close();
+        this.slots.close();
+        this.slotsFile.toFile().delete();
+        if (!this.persist) {
+            this.file.toFile().delete();
+        }
+    }
+
+    /**
+     * A file mapped into memory in chunks. A value is never split across
+     * two chunks, as long as the chunk size is a multiple of the size of
+     * every value stored at positions aligned to it.
+     */
+    private static final class Region {
+        /** the file */
+        private final FileChannel channel;
+        /** number of bytes in every chunk but the last */
+        private final long chunkBytes;
+        /** the mappings, in order */
+        private MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+        /** number of bytes mapped */
+        long length;
+
+        /**
+         * Maps a file, growing it to the given length if it is shorter.
+         *
+         * @param file the file
+         * @param chunkBytes number of bytes in every chunk but the last
+         * @param length number of bytes to map
+         * @throws IOException if the file can't be opened or mapped
+         */
+        Region(Path file, long chunkBytes, long length) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.chunkBytes = chunkBytes;
+            resize(length);
+        }
+
+        /**
+         * Grows the mapping, remapping only the chunks that change.
+         *
+         * @param length new number of bytes to map
+         * @throws IOException if the file can't be mapped
+         */
+        void resize(long length) throws IOException {
+            int count = (int) ((length + this.chunkBytes - 1) / this.chunkBytes);
+            MappedByteBuffer[] old = this.chunks;
+            this.chunks = Arrays.copyOf(old, count);
+            for (int i = Math.max(0, old.length - 1); i < count; ++i) {
+                long from = i * this.chunkBytes;
+                long bytes = Math.min(this.chunkBytes, length - from);
+                if (this.chunks[i] == null || this.chunks[i].capacity() != bytes) {
+                    this.chunks[i] = this.channel.map(FileChannel.MapMode.READ_WRITE, from, bytes);
+                }
+            }
+            this.length = length;
+        }
+
+        /**
+         * @param at position in the file
+         * @return the chunk holding the position
+         */
+        private MappedByteBuffer chunk(long at) {
+            return this.chunks[(int) (at / this.chunkBytes)];
+        }
+
+        int getInt(long at) {
+            return chunk(at).getInt((int) (at % this.chunkBytes));
+        }
+
+        void putInt(long at, int value) {
+            chunk(at).putInt((int) (at % this.chunkBytes), value);
+        }
+
+        long getLong(long at) {
+            return chunk(at).getLong((int) (at % this.chunkBytes));
+        }
+
+        void putLong(long at, long value) {
+            chunk(at).putLong((int) (at % this.chunkBytes), value);
+        }
+
+        void get(long at, byte[] into) {
+            chunk(at).get((int) (at % this.chunkBytes), into);
+        }
+
+        void put(long at, byte[] from) {
+            chunk(at).put((int) (at % this.chunkBytes), from);
+        }
+
+        /**
+         * Writes every chunk out to the file.
+         */
+        void force() {
+            for (MappedByteBuffer chunk : this.chunks) {
+                chunk.force();
+            }
+        }
+
+        /**
+         * Closes the file. The mappings stay valid until they are collected.
+         */
+        void close() {
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                //nothing is lost, every write went through a mapping
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package puzzles.common.solver;
+
+/**
+ * A config of a puzzle that a search changes in place, making a move and
+ * later unmaking it, instead of building a new config for every successor.
+ * Moves are the same codes Configuration.describeMove() gives, and are
+ * listed in the order the config's successors are generated in.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public interface MutableState {
+    /**
+     * @return most moves any state of the puzzle can have, the size of
+     * the buffer getMoves() needs
+     */
+    int getMaxMoves();
+
+    /**
+     * Writes the moves that can be made from the current state into a buffer.
+     *
+     * @param moves buffer with room for at least getMaxMoves() moves
+     * @return number of moves written
+     */
+    int getMoves(int[] moves);
+
+    /**
+     * Makes a move found by getMoves().
+     *
+     * @param move code of the move
+     */
+    void makeMove(int move);
+
+    /**
+     * Takes back the last move made, which brings back the state before it.
+     *
+     * @param move code of the move
+     */
+    void unmakeMove(int move);
+
+    /**
+     * @return true if the current state is a solution; false otherwise
+     */
+    boolean isSolution();
+
+    /**
+     * @return number of bytes encodeState() writes, the same for every state of the puzzle
+     */
+    int getStateCodeSize();
+
+    /**
+     * Writes the state code of the current state, the same bytes as the
+     * state's config gives from Configuration.encodeStateBytes(). Two
+     * states have the same code exactly when they are equal.
+     *
+     * @param code array to write the code into
+     * @param offset index to write the first byte at
+     */
+    void encodeState(byte[] code, int offset);
+
+    /**
+     * Gets a 64 bit hash of the current state, kept up to date by each move.
+     * Equal states have equal hashes, and different states almost never do.
+     *
+     * @return hash of the current state
+     */
+    long getHash();
+
+    /**
+     * @return a new config of the current state
+     */
+    Configuration toConfiguration();
+}
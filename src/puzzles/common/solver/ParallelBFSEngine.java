@@ -0,0 +1,282 @@
+package puzzles.common.solver;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * A level-synchronous breadth-first search that expands each level of
+ * the search across a ForkJoinPool. The visited set is a concurrent map,
+ * and when several configs of a level reach the same child, the one
+ * earliest in the level wins. New configs are tested as they are
+ * generated, and the first solution in the order a sequential search
+ * would generate them is the one taken, so the levels, counts and the
+ * solution path are exactly the ones the sequential BFSEngine produces,
+ * even though the rest of the level is expanded anyway. The puzzle's
+ * getSuccessors and isSolution must be safe to call from several
+ * threads at once.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class ParallelBFSEngine implements SearchEngine {
+
+    /** pool given to the engine, or null if it makes its own for each search */
+    private final ForkJoinPool sharedPool;
+    /** number of threads of the pools the engine makes itself */
+    private final int parallelism;
+    /** pool the levels of the current search are expanded on */
+    private ForkJoinPool pool;
+    /** number of configs generated so far */
+    private int numConfigs;
+    /** unique number of configs generated so far */
+    private int uniqueNumConfigs;
+    /** meter of the budget the search may use */
+    private BudgetMeter meter = new BudgetMeter(SearchBudget.UNLIMITED);
+
+    /**
+     * Creates an engine that runs on the common fork/join pool.
+     */
+    public ParallelBFSEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an engine with its own pool of the given number of threads.
+     * The pool is made at the start of each search and shut down at its
+     * end, so no threads are left behind between searches.
+     *
+     * @param parallelism number of threads to expand levels with
+     */
+    public ParallelBFSEngine(int parallelism) {
+        this(null, parallelism);
+    }
+
+    /**
+     * Creates an engine that runs on the given pool.
+     *
+     * @param pool pool to expand levels with
+     */
+    public ParallelBFSEngine(ForkJoinPool pool) {
+        this(pool, pool.getParallelism());
+    }
+
+    /**
+     * @param sharedPool pool to expand levels with, or null to make one for each search
+     * @param parallelism number of threads of the pools made for each search
+     */
+    private ParallelBFSEngine(ForkJoinPool sharedPool, int parallelism) {
+        this.sharedPool = sharedPool;
+        this.parallelism = parallelism;
+        this.numConfigs = 1;
+        this.uniqueNumConfigs = 1;
+    }
+
+    @Override
+    public Optional<List<Configuration>> search(Configuration config) {
+        this.pool = this.sharedPool != null ? this.sharedPool : new ForkJoinPool(this.parallelism);
+        try {
+            return searchLevels(config);
+        } finally {
+            if (this.sharedPool == null) {
+                this.pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Searches level by level from a config on the pool of the search.
+     *
+     * @param config the initial config the puzzle begins in
+     * @return the path to the first solution found, or Optional.empty() if none exists
+     */
+    private Optional<List<Configuration>> searchLevels(Configuration config) {
+        //the initial config is its own predecessor, since the map can't hold nulls
+        Map<Configuration, Configuration> predMap = new ConcurrentHashMap<>();
+        predMap.put(config, config);
+        if (config.isSolution()) {
+            return Optional.of(buildPath(predMap, config));
+        }
+        List<Configuration> level = List.of(config);
+        int depth = 0;
+
+        while (!level.isEmpty()) {
+            List<Configuration> currLevel = level;
+            int size = currLevel.size();
+            this.meter.level(depth++, size);
+
+            List<List<Configuration>> successors = new ArrayList<>(Collections.nCopies(size, null));
+            forEachIndex(size, i -> successors.set(i, new ArrayList<>(currLevel.get(i).getSuccessors())));
+            AtomicLong goal = new AtomicLong(Long.MAX_VALUE);
+            List<List<Configuration>> won = claimChildren(currLevel, successors, predMap, goal);
+            int goalIndex = goal.get() == Long.MAX_VALUE ? size : (int) (goal.get() >>> Integer.SIZE);
+            int expanded = goalIndex < size ? goalIndex + 1 : size;
+            this.meter.expand(expanded, predMap.size());
+            //the initial config was already counted
+            this.uniqueNumConfigs += currLevel.get(0) == config ? expanded - 1 : expanded;
+
+            List<Configuration> next = new ArrayList<>();
+            for (int i = 0; i < expanded; ++i) {
+                List<Configuration> children = successors.get(i);
+                int generated = children.size();
+                if (i == goalIndex) {
+                    //the sequential search stops generating at the solution
+                    generated = (int) goal.get() + 1;
+                }
+                int added = won.get(i).size();
+                this.numConfigs += generated;
+                this.meter.generated(generated, generated - added);
+                next.addAll(won.get(i));
+            }
+            if (goalIndex < size) {
+                //the solution counts as unique
+                ++this.uniqueNumConfigs;
+                return Optional.of(buildPath(predMap, successors.get(goalIndex).get((int) goal.get())));
+            }
+            level = next;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Claims the new configs reached from a level. A child reached from
+     * several configs is credited to the earliest one in the level, and to
+     * its first occurrence within that config's successors. Each config
+     * stops claiming at its first new child that is a solution, and the
+     * earliest of those in the level is recorded as the goal.
+     *
+     * @param level configs of the current level
+     * @param successors successors of each config of the level
+     * @param predMap visited configs and their predecessors
+     * @param goal the index of the config that reached the goal, shifted
+     *             left 32 bits, plus the index of the goal among its successors
+     * @return the children each config of the level won, in the order a sequential BFS queues them
+     */
+    private List<List<Configuration>> claimChildren(List<Configuration> level, List<List<Configuration>> successors,
+                                                    Map<Configuration, Configuration> predMap, AtomicLong goal) {
+        int size = level.size();
+        Map<Configuration, Long> claims = new ConcurrentHashMap<>();
+        forEachIndex(size, i -> {
+            List<Configuration> children = successors.get(i);
+            for (int j = 0; j < children.size(); ++j) {
+                Configuration childConfig = children.get(j);
+                if (!predMap.containsKey(childConfig)) {
+                    claims.merge(childConfig, (long) i << Integer.SIZE | j, Math::min);
+                }
+            }
+        });
+
+        List<List<Configuration>> winners = new ArrayList<>(Collections.nCopies(size, null));
+        forEachIndex(size, i -> {
+            List<Configuration> children = successors.get(i);
+            List<Configuration> won = new ArrayList<>();
+            for (int j = 0; j < children.size(); ++j) {
+                Configuration childConfig = children.get(j);
+                Long claim = claims.get(childConfig);
+                if (claim != null && claim == ((long) i << Integer.SIZE | j)) {
+                    predMap.put(childConfig, level.get(i));
+                    won.add(childConfig);
+                    if (childConfig.isSolution()) {
+                        goal.accumulateAndGet((long) i << Integer.SIZE | j, Math::min);
+                        break;
+                    }
+                }
+            }
+            winners.set(i, won);
+        });
+        return winners;
+    }
+
+    /**
+     * Runs an action for every index of a level on the pool and waits for it.
+     *
+     * @param size number of indices
+     * @param action action to run for each index
+     */
+    private void forEachIndex(int size, IntConsumer action) {
+        if (size == 0) {
+            return;
+        }
+        int grain = Math.max(1, size / (this.pool.getParallelism() * 8));
+        this.pool.invoke(new RangeTask(0, size, grain, action));
+    }
+
+    /**
+     * Walks the predecessor map back from the goal to the initial config.
+     *
+     * @param predMap map from each config to the config it was reached from
+     * @param goalConfig the solution config that was found
+     * @return list of configs from the initial config to the goal
+     */
+    private static List<Configuration> buildPath(Map<Configuration, Configuration> predMap,
+                                                 Configuration goalConfig) {
+        PathEvent event = SearchEvents.beginPath();
+        List<Configuration> path = new ArrayList<>();
+        Configuration currConfig = goalConfig;
+        path.add(currConfig);
+        while (predMap.get(currConfig) != currConfig) {
+            currConfig = predMap.get(currConfig);
+            path.add(currConfig);
+        }
+        Collections.reverse(path);
+        SearchEvents.endPath(event, path.size());
+        return path;
+    }
+
+    @Override
+    public void setBudgetMeter(BudgetMeter meter) {
+        this.meter = meter;
+    }
+
+    @Override
+    public int getNumConfigs() {
+        return numConfigs;
+    }
+
+    @Override
+    public int getUniqueNumConfigs() {
+        return uniqueNumConfigs;
+    }
+
+    /**
+     * Splits a range of indices in half until the pieces are small
+     * enough to run directly.
+     */
+    private static class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        /** first index of the range */
+        private final int from;
+        /** index just past the range */
+        private final int to;
+        /** largest range run without splitting */
+        private final int grain;
+        /** action to run for each index */
+        private final IntConsumer action;
+
+        /**
+         * Creates a task over the indices from (inclusive) to to (exclusive).
+         */
+        RangeTask(int from, int to, int grain, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.grain) {
+                for (int i = this.from; i < this.to; ++i) {
+                    this.action.accept(i);
+                }
+            } else {
+                int mid = (this.from + this.to) >>> 1;
+                invokeAll(new RangeTask(this.from, mid, this.grain, this.action),
+                        new RangeTask(mid, this.to, this.grain, this.action));
+            }
+        }
+    }
+}
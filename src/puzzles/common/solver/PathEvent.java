@@ -0,0 +1,22 @@
+package puzzles.common.solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for rebuilding the path to a solution once an
+ * engine has found it.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+@Name("puzzles.PathReconstruction")
+@Label("Path Reconstruction")
+@Category({"Puzzles", "Solver"})
+@Description("Rebuilding the path from the initial config to a solution")
+public class PathEvent extends Event {
+    @Label("Path Length")
+    int length;
+}
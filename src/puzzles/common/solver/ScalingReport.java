@@ -0,0 +1,54 @@
+package puzzles.common.solver;
+
+import puzzles.hoppers.model.HoppersConfig;
+import puzzles.jam.model.JamConfig;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times the parallel BFS on a set of Jam or Hoppers puzzle files for
+ * every thread count from 1 up to a maximum, and prints a table of the
+ * solve times and the speedup over one thread.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class ScalingReport {
+    /** number of timed solves per file and thread count; the fastest is reported */
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Usage: java ScalingReport jam|hoppers maxThreads filename ...");
+            return;
+        }
+        int maxThreads = Integer.parseInt(args[1]);
+
+        System.out.printf("%-28s", "File");
+        for (int threads = 1; threads <= maxThreads; ++threads) {
+            System.out.printf("%18s", threads + (threads == 1 ? " thread" : " threads"));
+        }
+        System.out.println();
+
+        for (int i = 2; i < args.length; ++i) {
+            Configuration config = args[0].startsWith("h") ? new HoppersConfig(args[i]) : new JamConfig(args[i]);
+            System.out.printf("%-28s", args[i]);
+            long single = 0;
+            for (int threads = 1; threads <= maxThreads; ++threads) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                long best = Long.MAX_VALUE;
+                for (int run = 0; run < RUNS; ++run) {
+                    long start = System.nanoTime();
+                    new Solver(new ParallelBFSEngine(pool)).solve(config);
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+                pool.shutdown();
+                if (threads == 1) {
+                    single = best;
+                }
+                System.out.printf("%9d ms %5.1fx", best / 1_000_000, (double) single / best);
+            }
+            System.out.println();
+        }
+    }
+}
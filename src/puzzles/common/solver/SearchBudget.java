@@ -0,0 +1,66 @@
+package puzzles.common.solver;
+
+import java.time.Duration;
+
+/**
+ * Limits on how much work a search may do before it gives up. Any limit
+ * can be left unbounded; UNLIMITED has no limits at all, and the with
+ * methods each return a copy with one limit changed.
+ *
+ * @param timeLimit longest time the search may run for, or null for no limit
+ * @param maxExpanded largest number of configs the search may expand
+ * @param maxRetained largest number of configs the search may keep in memory at once
+ * @param token token that can cancel the search, or null if it can't be cancelled
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public record SearchBudget(Duration timeLimit, long maxExpanded, long maxRetained, CancellationToken token) {
+    /** a budget that never runs out */
+    public static final SearchBudget UNLIMITED = new SearchBudget(null, Long.MAX_VALUE, Long.MAX_VALUE, null);
+
+    /**
+     * Which limit of a budget a search ran into.
+     */
+    public enum Limit {
+        /** the time limit passed */
+        TIME,
+        /** too many configs were expanded */
+        EXPANDED,
+        /** too many configs were kept in memory */
+        RETAINED,
+        /** the token was cancelled */
+        CANCELLED
+    }
+
+    /**
+     * @param timeLimit longest time the search may run for
+     * @return a copy of this budget with the time limit changed
+     */
+    public SearchBudget withTimeLimit(Duration timeLimit) {
+        return new SearchBudget(timeLimit, this.maxExpanded, this.maxRetained, this.token);
+    }
+
+    /**
+     * @param maxExpanded largest number of configs the search may expand
+     * @return a copy of this budget with the expansion limit changed
+     */
+    public SearchBudget withMaxExpanded(long maxExpanded) {
+        return new SearchBudget(this.timeLimit, maxExpanded, this.maxRetained, this.token);
+    }
+
+    /**
+     * @param maxRetained largest number of configs the search may keep in memory at once
+     * @return a copy of this budget with the memory limit changed
+     */
+    public SearchBudget withMaxRetained(long maxRetained) {
+        return new SearchBudget(this.timeLimit, this.maxExpanded, maxRetained, this.token);
+    }
+
+    /**
+     * @param token token that can cancel the search
+     * @return a copy of this budget with the token changed
+     */
+    public SearchBudget withToken(CancellationToken token) {
+        return new SearchBudget(this.timeLimit, this.maxExpanded, this.maxRetained, token);
+    }
+}
@@ -0,0 +1,42 @@
+package puzzles.common.solver;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Represents a strategy for searching the configuration space of a puzzle.
+ * Solver delegates the actual search to an engine, so different algorithms
+ * can be plugged in without changing any of the puzzles.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public interface SearchEngine {
+    /**
+     * Searches for a path from the given config to a solution.
+     *
+     * @param config the initial config the puzzle begins in
+     * @return an Optional containing the list of configs from the initial
+     * config to the solution, or Optional.empty() if no solution exists.
+     */
+    Optional<List<Configuration>> search(Configuration config);
+
+    /**
+     * Makes the next search report its progress to a meter, which stops
+     * it with a BudgetExceededException once its budget runs out. Engines
+     * that don't meter their searches ignore it, and always run unbounded.
+     *
+     * @param meter meter of the budget the search may use
+     */
+    default void setBudgetMeter(BudgetMeter meter) {
+    }
+
+    /**
+     * @return number of configurations generated
+     */
+    int getNumConfigs();
+
+    /**
+     * @return unique number of configurations generated
+     */
+    int getUniqueNumConfigs();
+}
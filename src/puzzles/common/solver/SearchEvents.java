@@ -0,0 +1,107 @@
+package puzzles.common.solver;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Starts the flight recorder events of a search. Loading an event class
+ * sets up part of the flight recorder, which takes a noticeable part of a
+ * short run, so no event is created until a recording has been started
+ * in this JVM, either from the command line with
+ * -XX:StartFlightRecording or later with jcmd. Until then every method
+ * here returns null, and the methods that end events accept null.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public final class SearchEvents {
+    /** number of expansions or successor generations per recorded one */
+    public static final int SAMPLE_INTERVAL = 1 << 10;
+
+    /** calls to beginSuccessors() while recording; racy across threads, which only makes sampling uneven */
+    private static int successorCalls;
+
+    private SearchEvents() {
+    }
+
+    /**
+     * @return true if a flight recording has been started in this JVM; false otherwise
+     */
+    static boolean isRecording() {
+        return FlightRecorder.isInitialized();
+    }
+
+    /**
+     * @return a started solve event, or null if nothing is recording
+     */
+    static SolveEvent beginSolve() {
+        if (!isRecording()) {
+            return null;
+        }
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @return a started path reconstruction event, or null if nothing is recording
+     */
+    static PathEvent beginPath() {
+        if (!isRecording()) {
+            return null;
+        }
+        PathEvent event = new PathEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records a path reconstruction.
+     *
+     * @param event the event returned by beginPath(), which may be null
+     * @param length number of configs on the path
+     */
+    static void endPath(PathEvent event, int length) {
+        if (event != null) {
+            event.length = length;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts timing the generation of a config's successors, if it is one
+     * of the sampled ones.
+     * Usage:
+     * <pre>
+     *     SuccessorsEvent event = SearchEvents.beginSuccessors();
+     *     ...generate the successors...
+     *     SearchEvents.endSuccessors(event, this, successors.size());
+     * </pre>
+     *
+     * @return the started event, or null if this call is not recorded
+     */
+    public static SuccessorsEvent beginSuccessors() {
+        if (!isRecording() || ++successorCalls % SAMPLE_INTERVAL != 0) {
+            return null;
+        }
+        SuccessorsEvent event = new SuccessorsEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records a sampled generation of successors.
+     *
+     * @param event the event returned by beginSuccessors(), which may be null
+     * @param config the config whose successors were generated
+     * @param count number of successors generated
+     */
+    public static void endSuccessors(SuccessorsEvent event, Configuration config, int count) {
+        if (event != null) {
+            event.configType = config.getClass().getSimpleName();
+            event.count = count;
+            event.commit();
+        }
+    }
+}
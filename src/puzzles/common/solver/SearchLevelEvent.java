@@ -0,0 +1,37 @@
+package puzzles.common.solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one level of a breadth-first search, from the
+ * start of the level to the start of the next one or the end of the search.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+@Name("puzzles.SearchLevel")
+@Label("Search Level")
+@Category({"Puzzles", "Solver"})
+@Description("One level of a breadth-first search")
+@StackTrace(false)
+public class SearchLevelEvent extends Event {
+    @Label("Depth")
+    int depth;
+
+    @Label("Frontier Size")
+    long frontierSize;
+
+    @Label("Expanded")
+    long expanded;
+
+    @Label("Generated")
+    long generated;
+
+    @Label("Duplicates")
+    @Description("Successors generated in the level that had been seen before")
+    long duplicates;
+}
@@ -0,0 +1,227 @@
+package puzzles.common.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Statistics of a search, filled in by the search as it runs. Only the
+ * search's thread writes them, but any thread may read them at any time,
+ * so a view or a service can poll a search while it is still going.
+ * All counts are longs, so they don't overflow on large searches.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class SearchMetrics {
+    /** largest fan-out with its own bucket in the histogram; larger ones share the last bucket */
+    public static final int MAX_FAN_OUT = 32;
+
+    /**
+     * One level of a breadth-first search.
+     *
+     * @param depth number of moves from the initial config
+     * @param frontierSize number of configs in the level
+     * @param elapsedMillis milliseconds from the start of the search to the start of the level
+     */
+    public record Level(int depth, long frontierSize, long elapsedMillis) {}
+
+    /** when the search started, in System.nanoTime() units */
+    private final long start;
+    /** heap in use when the search started */
+    private final long startHeap;
+    /** when the search finished, in System.nanoTime() units, or 0 while it runs */
+    private volatile long end;
+    /** number of configs expanded */
+    private final AtomicLong expanded = new AtomicLong();
+    /** number of successors generated */
+    private final AtomicLong generated = new AtomicLong();
+    /** number of successors generated that had been seen before */
+    private final AtomicLong duplicates = new AtomicLong();
+    /** number of configs the search is keeping in memory */
+    private final AtomicLong retained = new AtomicLong();
+    /** largest number of configs kept in memory at once */
+    private final AtomicLong peakRetained = new AtomicLong();
+    /** bytes taken by the retained configs, if the search knows it exactly, or -1 */
+    private final AtomicLong retainedBytes = new AtomicLong(-1);
+    /** number of expansions that generated each number of successors */
+    private final AtomicLongArray fanOut = new AtomicLongArray(MAX_FAN_OUT + 1);
+    /** levels of a breadth-first search, in order */
+    private final List<Level> levels = new CopyOnWriteArrayList<>();
+
+    /**
+     * Starts the statistics of a search that starts now.
+     */
+    public SearchMetrics() {
+        this.start = System.nanoTime();
+        this.startHeap = usedHeap();
+    }
+
+    /**
+     * @return bytes of heap currently in use
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /*
+     * The search's thread is the only writer, so each update is a plain
+     * read followed by an ordered write rather than an atomic increment.
+     */
+
+    /**
+     * Records the expansion of configs.
+     *
+     * @param count number of configs expanded
+     * @param retained number of configs the search is keeping in memory
+     */
+    void expanded(long count, long retained) {
+        this.expanded.lazySet(this.expanded.get() + count);
+        this.retained.lazySet(retained);
+        if (retained > this.peakRetained.get()) {
+            this.peakRetained.lazySet(retained);
+        }
+    }
+
+    /**
+     * Records the successors of one expanded config.
+     *
+     * @param count number of successors generated
+     * @param seen how many of them had been seen before
+     */
+    void generated(int count, int seen) {
+        this.generated.lazySet(this.generated.get() + count);
+        this.duplicates.lazySet(this.duplicates.get() + seen);
+        int bucket = Math.min(count, MAX_FAN_OUT);
+        this.fanOut.lazySet(bucket, this.fanOut.get(bucket) + 1);
+    }
+
+    /**
+     * Records the start of a level of a breadth-first search.
+     *
+     * @param depth number of moves from the initial config
+     * @param frontierSize number of configs in the level
+     */
+    void level(int depth, long frontierSize) {
+        this.levels.add(new Level(depth, frontierSize, getElapsedMillis()));
+    }
+
+    /**
+     * Records exactly how many bytes the retained configs take.
+     *
+     * @param bytes bytes taken by the retained configs
+     */
+    void retainedBytes(long bytes) {
+        this.retainedBytes.lazySet(bytes);
+    }
+
+    /**
+     * Records that the search has finished, which stops the clock.
+     */
+    void finish() {
+        if (this.end == 0) {
+            this.end = System.nanoTime();
+        }
+    }
+
+    /**
+     * @return milliseconds the search has been running for, or ran for if it finished
+     */
+    public long getElapsedMillis() {
+        long end = this.end;
+        return ((end == 0 ? System.nanoTime() : end) - this.start) / 1_000_000;
+    }
+
+    /**
+     * @return number of configs expanded
+     */
+    public long getExpanded() {
+        return this.expanded.get();
+    }
+
+    /**
+     * @return number of configs expanded per second, on average
+     */
+    public double getExpandedPerSecond() {
+        long end = this.end;
+        long nanos = (end == 0 ? System.nanoTime() : end) - this.start;
+        return nanos == 0 ? 0 : getExpanded() * 1e9 / nanos;
+    }
+
+    /**
+     * @return number of successors generated
+     */
+    public long getGenerated() {
+        return this.generated.get();
+    }
+
+    /**
+     * @return number of successors generated that had been seen before
+     */
+    public long getDuplicates() {
+        return this.duplicates.get();
+    }
+
+    /**
+     * @return fraction of the successors generated that had been seen before
+     */
+    public double getDuplicateRatio() {
+        long generated = getGenerated();
+        return generated == 0 ? 0 : (double) getDuplicates() / generated;
+    }
+
+    /**
+     * @return number of configs the search is keeping in memory
+     */
+    public long getRetained() {
+        return this.retained.get();
+    }
+
+    /**
+     * @return largest number of configs kept in memory at once
+     */
+    public long getPeakRetained() {
+        return this.peakRetained.get();
+    }
+
+    /**
+     * Estimates the memory each retained config takes. Searches that store
+     * configs in their own tables know this exactly; for the others it is
+     * the growth of the heap since the search started, which is only rough
+     * since it includes garbage that has not been collected yet.
+     *
+     * @return estimated bytes per retained config, or 0 if nothing is retained
+     */
+    public double getBytesPerState() {
+        long retained = getRetained();
+        if (retained == 0) {
+            return 0;
+        }
+        long bytes = this.retainedBytes.get();
+        if (bytes < 0) {
+            bytes = Math.max(0, usedHeap() - this.startHeap);
+        }
+        return (double) bytes / retained;
+    }
+
+    /**
+     * @return number of expansions that generated each number of successors,
+     * with all fan-outs of MAX_FAN_OUT or more counted in the last entry
+     */
+    public long[] getFanOutHistogram() {
+        long[] histogram = new long[MAX_FAN_OUT + 1];
+        for (int i = 0; i < histogram.length; ++i) {
+            histogram[i] = this.fanOut.get(i);
+        }
+        return histogram;
+    }
+
+    /**
+     * @return the levels of a breadth-first search started so far; empty for other searches
+     */
+    public List<Level> getLevels() {
+        return new ArrayList<>(this.levels);
+    }
+}
@@ -0,0 +1,47 @@
+package puzzles.common.solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for one solve by a Solver, from the start of the
+ * search to the end of path reconstruction. Its duration is the whole
+ * solve time that the level, expansion, successor and path events break
+ * down.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+@Name("puzzles.Solve")
+@Label("Solve")
+@Category({"Puzzles", "Solver"})
+@Description("A puzzle solved by a Solver")
+public class SolveEvent extends Event {
+    @Label("Engine")
+    String engine;
+
+    @Label("Puzzle")
+    @Description("Class of the initial config")
+    String puzzle;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Path Length")
+    @Description("Number of configs on the solution, including the initial one")
+    int pathLength;
+
+    @Label("Total Configs")
+    long numConfigs;
+
+    @Label("Unique Configs")
+    long uniqueNumConfigs;
+
+    @Label("Expanded")
+    long expanded;
+
+    @Label("Peak Retained")
+    long peakRetained;
+}
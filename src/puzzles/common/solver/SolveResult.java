@@ -0,0 +1,36 @@
+package puzzles.common.solver;
+
+import java.util.List;
+
+/**
+ * The outcome of a solve with a budget: whether a solution was found,
+ * none exists, or the budget ran out first, together with the statistics
+ * of the search up to the point it stopped.
+ *
+ * @param status how the search ended
+ * @param path configs from the initial config to a solution; empty unless SOLVED
+ * @param limit the limit that was reached if the budget ran out, or null
+ * @param numConfigs number of configurations generated
+ * @param uniqueNumConfigs unique number of configurations generated
+ * @param expanded number of configurations expanded
+ * @param peakRetained largest number of configurations kept in memory at once
+ * @param elapsedMillis how long the search ran for
+ * @param metrics the full statistics of the search
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public record SolveResult(Status status, List<Configuration> path, SearchBudget.Limit limit,
+                          int numConfigs, int uniqueNumConfigs, long expanded, long peakRetained,
+                          long elapsedMillis, SearchMetrics metrics) {
+    /**
+     * How a search with a budget ended.
+     */
+    public enum Status {
+        /** a solution was found */
+        SOLVED,
+        /** the whole space was searched and there is no solution */
+        NO_SOLUTION,
+        /** the budget ran out before the search finished */
+        BUDGET_EXCEEDED
+    }
+}
@@ -1,94 +1,130 @@
 package puzzles.common.solver;
 
-import java.util.*;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Solves a given puzzle using a BFS and backtracking algorithm.
  * Utilizes methods given in the Configuration interface.
+ * The search itself is delegated to a SearchEngine, which is
+ * a breadth-first search unless another engine is provided.
  *
  * @author Hritik "Ricky" Gupta | rg4825@rit.edu
  */
 public class Solver {
 
-    /** number of configs generated so far */
-    private int numConfigs;
-    /** unique number of configs generated so far */
-    private int uniqueNumConfigs;
+    /** engine that performs the search */
+    private final SearchEngine engine;
+    /** meter of the current or last search */
+    private volatile BudgetMeter meter;
 
     /**
-     * Sets the default values for how many configs have been generated.
-     * Both are equal to 1, because there is always 1 config generated --
-     * the provided one.
+     * Creates a solver that uses the default breadth-first search engine.
      */
     public Solver() {
-        this.numConfigs = 1;
-        this.uniqueNumConfigs = 1;
+        this(new BFSEngine());
     }
 
     /**
-     * Solves a particular puzzle using the BFS algorithm.
+     * Creates a solver that uses the given search engine.
+     *
+     * @param engine engine to delegate the search to
+     */
+    public Solver(SearchEngine engine) {
+        this.engine = engine;
+        this.meter = new BudgetMeter(SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * Solves a particular puzzle using the solver's search engine.
      *
      * @param config the initial config the puzzle begins in
      * @return an Optional containing the list of configs generated to
      * get to solution, or Optional.empty() if no solution exists.
      */
     public Optional<List<Configuration>> solve(Configuration config) {
-        List<Configuration> queue = new LinkedList<>();
-        Map<Configuration, Configuration> predMap = new HashMap<>();
-        List<Configuration> path = new LinkedList<>();
-        ArrayList<Configuration> uniqueConfigs = new ArrayList<>();
-        Configuration goalConfig = config.getGoalConfig();
-
-        queue.add(config);
-        predMap.put(config, null);
-        uniqueConfigs.add(config);
+        SolveResult result = solve(config, SearchBudget.UNLIMITED);
+        return result.status() == SolveResult.Status.SOLVED
+                ? Optional.of(result.path())
+                : Optional.empty();
+    }
 
-        while (!queue.isEmpty()) {
-            Configuration currConfig = queue.remove(0);
-            if (!uniqueConfigs.contains(currConfig)) {
-                ++this.uniqueNumConfigs;
-                uniqueConfigs.add(currConfig);
-            }
-            if (currConfig.isSolution()) {
-                goalConfig = currConfig;
-                break;
-            }
-            for (Configuration childConfig : currConfig.getSuccessors()) {
-                ++this.numConfigs;
-                if (!predMap.containsKey(childConfig)) {
-                    queue.add(childConfig);
-                    predMap.put(childConfig, currConfig);
-                }
-            }
+    /**
+     * Solves a particular puzzle like solve(config), but stops as soon as
+     * the search runs out of budget instead of running unbounded.
+     *
+     * @param config the initial config the puzzle begins in
+     * @param budget limits on the time, expansions and memory the search
+     *               may use, and an optional cancellation token
+     * @return the outcome of the search, with its statistics up to the point it stopped
+     */
+    public SolveResult solve(Configuration config, SearchBudget budget) {
+        BudgetMeter meter = startMeter(budget);
+        SolveEvent event = SearchEvents.beginSolve();
+        SolveResult.Status status;
+        List<Configuration> path = List.of();
+        SearchBudget.Limit limit = null;
+        try {
+            Optional<List<Configuration>> solved = this.engine.search(config);
+            status = solved.isPresent() ? SolveResult.Status.SOLVED : SolveResult.Status.NO_SOLUTION;
+            path = solved.orElse(path);
+        } catch (BudgetExceededException e) {
+            status = SolveResult.Status.BUDGET_EXCEEDED;
+            limit = e.getLimit();
         }
-
-        if (predMap.containsKey(goalConfig)) {
-            Configuration currConfig = goalConfig;
-            while (!currConfig.equals(config)) {
-                path.add(0, currConfig);
-                currConfig = predMap.get(currConfig);
-            }
-            path.add(0, config);
+        meter.finish();
+        SearchMetrics metrics = meter.getMetrics();
+        if (event != null && event.shouldCommit()) {
+            event.engine = this.engine.getClass().getSimpleName();
+            event.puzzle = config.getClass().getSimpleName();
+            event.outcome = limit == null ? status.name() : status.name() + " (" + limit.name() + ")";
+            event.pathLength = path.size();
+            event.numConfigs = getNumConfigs();
+            event.uniqueNumConfigs = getUniqueNumConfigs();
+            event.expanded = metrics.getExpanded();
+            event.peakRetained = metrics.getPeakRetained();
+            event.commit();
         }
+        return new SolveResult(status, path, limit, getNumConfigs(), getUniqueNumConfigs(),
+                metrics.getExpanded(), metrics.getPeakRetained(), metrics.getElapsedMillis(), metrics);
+    }
 
-        if (path.isEmpty()) {
-            return Optional.empty();
-        }
-        return Optional.of(path);
+    /**
+     * Gives the engine a new meter for the next search.
+     *
+     * @param budget the budget of the search
+     * @return the meter
+     */
+    private BudgetMeter startMeter(SearchBudget budget) {
+        BudgetMeter meter = new BudgetMeter(budget);
+        this.engine.setBudgetMeter(meter);
+        this.meter = meter;
+        return meter;
+    }
+
+    /**
+     * Gets the statistics of the current or last search. They are
+     * updated while the search runs and may be read from any thread.
+     *
+     * @return statistics of the search
+     */
+    public SearchMetrics getMetrics() {
+        return this.meter.getMetrics();
     }
 
     /**
      * @return number of configurations generated
      */
     public int getNumConfigs() {
-        return numConfigs;
+        return this.engine.getNumConfigs();
     }
 
     /**
      * @return unique number of configurations generated
      */
     public int getUniqueNumConfigs() {
-        return uniqueNumConfigs;
+        return this.engine.getUniqueNumConfigs();
     }
 
     /**
@@ -97,13 +133,23 @@ public class Solver {
      * @param path constructed from BFS predecessor map
      */
     public void displaySolution(List<Configuration> path) {
-        System.out.println("Total configs: " + this.getNumConfigs());
-        System.out.println("Unique configs: " + this.getUniqueNumConfigs());
+        displaySolution(path, System.out);
+    }
+
+    /**
+     * Prints the solution of a given config to the given stream
+     *
+     * @param path constructed from BFS predecessor map
+     * @param out stream to print to
+     */
+    public void displaySolution(List<Configuration> path, PrintStream out) {
+        out.println("Total configs: " + this.getNumConfigs());
+        out.println("Unique configs: " + this.getUniqueNumConfigs());
         if (path.isEmpty()) {
-            System.out.println("No solution");
+            out.println("No solution");
         } else {
             for (int i = 0; i < path.size(); ++i) {
-                System.out.println("Step " + i + ": " + path.get(i).display());
+                out.println("Step " + i + ": " + path.get(i).display());
             }
         }
     }
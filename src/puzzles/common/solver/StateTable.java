@@ -0,0 +1,117 @@
+package puzzles.common.solver;
+
+/**
+ * A visited set and predecessor map for configs stored as compact
+ * state codes. Each distinct config gets an index in the order it was
+ * added, so the table doubles as the BFS queue. The int kept with each
+ * config is the index of its parent for searches that walk back through
+ * the table, but a search may keep any int there, such as a move code.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+interface StateTable extends AutoCloseable {
+    /** parent index of the initial config */
+    int NO_PARENT = -1;
+
+    /**
+     * Adds a config to the table if it has not been seen before.
+     *
+     * @param config config to add
+     * @param parent index of the config it was reached from
+     * @return true if the config was new; false otherwise
+     */
+    boolean add(Configuration config, int parent);
+
+    /**
+     * Rebuilds the config stored at an index.
+     *
+     * @param index index of the config
+     * @return the config at that index
+     */
+    Configuration get(int index);
+
+    /**
+     * @param index index of a config
+     * @return index of the config it was reached from, or NO_PARENT
+     */
+    int getParent(int index);
+
+    /**
+     * Finds the index of a config in the table.
+     *
+     * @param config config to look up
+     * @return index of the config, or -1 if it is not in the table
+     */
+    int indexOf(Configuration config);
+
+    /**
+     * @return number of configs in the table
+     */
+    int size();
+
+    /**
+     * @return number of bytes taken by the table's arrays
+     */
+    long getMemoryBytes();
+
+    /**
+     * Gets how far an earlier search using this table got, for tables that
+     * outlive a search. Every config before the index had been expanded.
+     *
+     * @return index of the first config that may not have been expanded,
+     * or 0 if no search used the table before
+     */
+    default int getResumeIndex() {
+        return 0;
+    }
+
+    /**
+     * Records that every config before an index has been expanded, so a
+     * later search can resume from there. Tables that don't outlive a
+     * search ignore it.
+     *
+     * @param index index of the next config to expand
+     */
+    default void setResumeIndex(int index) {
+    }
+
+    /**
+     * Releases whatever the table holds outside the heap. Tables in the
+     * heap hold nothing.
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Creates a table sized for the state codes of the given puzzle.
+     *
+     * @param config any config of the puzzle, used to decode states
+     * @return an empty table
+     */
+    static StateTable create(Configuration config) {
+        int codeSize = config.getStateCodeSize();
+        if (codeSize <= 0) {
+            throw new IllegalArgumentException("puzzle does not support state codes");
+        }
+        if (codeSize <= Long.BYTES) {
+            return new LongStateTable(config);
+        }
+        return new BytesStateTable(config, codeSize);
+    }
+
+    /**
+     * Scrambles a 64 bit value so nearby codes land in different slots.
+     *
+     * @param code value to scramble
+     * @return the scrambled value
+     */
+    static long mix(long code) {
+        code ^= code >>> 33;
+        code *= 0xff51afd7ed558ccdL;
+        code ^= code >>> 33;
+        code *= 0xc4ceb9fe1a85ec53L;
+        code ^= code >>> 33;
+        return code;
+    }
+}
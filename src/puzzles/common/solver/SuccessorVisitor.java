@@ -0,0 +1,19 @@
+package puzzles.common.solver;
+
+/**
+ * Receives the successors of a config one at a time, as the config
+ * generates them, so a search can look at each successor without a
+ * collection of them being built, and can stop the generation as soon
+ * as it has found what it wants.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public interface SuccessorVisitor {
+    /**
+     * Receives one successor.
+     *
+     * @param successor the successor just generated
+     * @return true to go on to the next successor; false to stop
+     */
+    boolean visit(Configuration successor);
+}
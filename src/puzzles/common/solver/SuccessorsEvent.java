@@ -0,0 +1,30 @@
+package puzzles.common.solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for generating the successors of one config,
+ * emitted by the Configuration implementations through SearchEvents.
+ * Only one call in SearchEvents.SAMPLE_INTERVAL is recorded. Compared
+ * with the expansion events, it tells how much of an expansion goes to
+ * building successors and how much to hashing and comparing them.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+@Name("puzzles.Successors")
+@Label("Successors")
+@Category({"Puzzles", "Configuration"})
+@Description("Sampled generation of a config's successors")
+@StackTrace(false)
+public class SuccessorsEvent extends Event {
+    @Label("Config Type")
+    String configType;
+
+    @Label("Successors")
+    int count;
+}
@@ -1,9 +1,14 @@
 package puzzles.hoppers.gui;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
@@ -11,12 +16,18 @@ import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.GridPane;
 import javafx.scene.text.Font;
 import javafx.stage.FileChooser;
+import javafx.util.Duration;
+import puzzles.common.BackgroundSearch;
 import puzzles.common.Observer;
+import puzzles.common.solver.BFSEngine;
+import puzzles.common.solver.SearchEngine;
 import puzzles.hoppers.model.HoppersClientData;
 import puzzles.hoppers.model.HoppersConfig;
 import puzzles.hoppers.model.HoppersModel;
+import puzzles.hoppers.solver.HoppersDFSEngine;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 
 import java.io.File;
@@ -45,6 +56,12 @@ public class HoppersGUI extends Application implements Observer<HoppersModel, Ho
     private int startRow;
     /** start column of the initially selected piece */
     private int startCol;
+    /** runs hints off the JavaFX thread */
+    private final BackgroundSearch hintSearch = new BackgroundSearch(Platform::runLater);
+    /** spins while a hint is being found */
+    private final ProgressIndicator progress = new ProgressIndicator();
+    /** shows the hint search's counters while it runs, or null if no hint is being found */
+    private Timeline progressUpdates;
 
     /** the resources directory is located directly underneath the gui package */
     private final static String RESOURCES_DIR = "resources/";
@@ -79,10 +96,11 @@ public class HoppersGUI extends Application implements Observer<HoppersModel, Ho
      */
     private GridPane makeBoard() {
         GridPane buttonBoard = new GridPane();
-        char[][] currentBoard = this.model.getCurrentConfig().getBoard();
+        HoppersConfig currentConfig = this.model.getCurrentConfig();
+        char[][] currentBoard = currentConfig.getBoard();
 
-        for (int row = 0; row < HoppersConfig.numRows; ++row) {
-            for (int col = 0; col < HoppersConfig.numCols; ++col) {
+        for (int row = 0; row < currentConfig.getNumRows(); ++row) {
+            for (int col = 0; col < currentConfig.getNumCols(); ++col) {
 
                 char currentChar = currentBoard[row][col];
                 HoppersButton button = new HoppersButton(row, col);
@@ -151,10 +169,14 @@ public class HoppersGUI extends Application implements Observer<HoppersModel, Ho
         Button load = new Button("Load"); // make into fields?
         Button reset = new Button("Reset");
         Button hint = new Button("Hint");
+        Button cancel = new Button("Cancel");
+        CheckBox depthFirst = new CheckBox("DFS hints");
 
         load.setFont(Font.font("Helvetica", 18));
         reset.setFont(Font.font("Helvetica", 18));
         hint.setFont(Font.font("Helvetica", 18));
+        cancel.setFont(Font.font("Helvetica", 18));
+        depthFirst.setFont(Font.font("Helvetica", 18));
 
         load.setOnAction(event -> {
             FileChooser fileChooser = new FileChooser();
@@ -169,22 +191,86 @@ public class HoppersGUI extends Application implements Observer<HoppersModel, Ho
                         files[files.length - 3] + File.separator +
                         files[files.length - 2] + File.separator +
                         files[files.length - 1];
+                cancelHint();
                 this.model.load(filename);
             }
         });
         reset.setOnAction(event -> {
+            cancelHint();
             this.model.reset();
             this.isSelected = false;
         });
-        hint.setOnAction(event -> this.model.hint());
+        hint.setOnAction(event -> {
+            //a newer hint replaces one still being found
+            cancelHint();
+            HoppersConfig from = this.model.getCurrentConfig();
+            SearchEngine engine = this.model.newHintEngine();
+            showProgress(engine);
+            this.hintSearch.submit(() -> HoppersModel.findHint(from, engine), next -> {
+                hideProgress();
+                this.model.applyHint(from, next);
+            }, failure -> {
+                hideProgress();
+                this.indicator.setText("Hint failed: " + failure);
+            });
+        });
+        cancel.setOnAction(event -> {
+            if (this.hintSearch.isRunning()) {
+                cancelHint();
+                this.indicator.setText("Hint cancelled");
+            }
+        });
+
+        depthFirst.setOnAction(event ->
+                this.model.setHintEngines(depthFirst.isSelected() ? HoppersDFSEngine::new : BFSEngine::new));
+
+        this.progress.setPrefSize(30, 30);
+        this.progress.setVisible(false);
 
         buttons.getChildren().add(load);
         buttons.getChildren().add(reset);
         buttons.getChildren().add(hint);
+        buttons.getChildren().add(cancel);
+        buttons.getChildren().add(depthFirst);
+        buttons.getChildren().add(this.progress);
 
         return buttons;
     }
 
+    /**
+     * Shows the progress indicator and keeps the message showing how many
+     * configs the hint search has looked at.
+     *
+     * @param engine engine the hint is being found with
+     */
+    private void showProgress(SearchEngine engine) {
+        this.progress.setVisible(true);
+        this.indicator.setText("Finding hint...");
+        this.progressUpdates = new Timeline(new KeyFrame(Duration.millis(100), event ->
+                this.indicator.setText("Finding hint... " + engine.getUniqueNumConfigs() + " configs")));
+        this.progressUpdates.setCycleCount(Animation.INDEFINITE);
+        this.progressUpdates.play();
+    }
+
+    /**
+     * Hides the progress indicator and stops updating the message.
+     */
+    private void hideProgress() {
+        if (this.progressUpdates != null) {
+            this.progressUpdates.stop();
+            this.progressUpdates = null;
+        }
+        this.progress.setVisible(false);
+    }
+
+    /**
+     * Stops any hint being found.
+     */
+    private void cancelHint() {
+        this.hintSearch.cancel();
+        hideProgress();
+    }
+
     /**
      * Displays the message contained in the client data
      */
@@ -223,8 +309,17 @@ public class HoppersGUI extends Application implements Observer<HoppersModel, Ho
         this.stage.show();
     }
 
+    @Override
+    public void stop() {
+        this.hintSearch.shutdown();
+    }
+
     @Override
     public void update(HoppersModel hoppersModel, HoppersClientData hoppersClientData) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> update(hoppersModel, hoppersClientData));
+            return;
+        }
         displayMessage();
         GridPane buttonBoard = makeBoard();
         buttonBoard.setAlignment(Pos.CENTER);
@@ -0,0 +1,345 @@
+package puzzles.hoppers.model;
+
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.MutableState;
+import puzzles.common.solver.SearchEvents;
+import puzzles.common.solver.SuccessorVisitor;
+import puzzles.common.solver.SuccessorsEvent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Represents a configuration of the Hoppers puzzle as two sets of pads,
+ * one holding the green frogs and one the red frogs. The board's shape
+ * and its jumps live in a HoppersLayout shared by every config, so a
+ * jump is three bit flips. Displays, solves and orders its successors
+ * the same way as HoppersConfig.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class HoppersBitboardConfig implements Configuration {
+
+    /** the board shape and jumps shared by every config */
+    private final HoppersLayout layout;
+    /** pads holding a green frog */
+    private final long green;
+    /** pads holding a red frog */
+    private final long red;
+
+    /**
+     * Creates the initial config of a Hoppers puzzle.
+     *
+     * @param filename file to be read that contains game data
+     * @throws IOException if error occurs whilst reading from file
+     */
+    public HoppersBitboardConfig(String filename) throws IOException {
+        this(new HoppersConfig(filename));
+    }
+
+    /**
+     * Creates a config with the same frogs as a HoppersConfig.
+     *
+     * @param config config to copy; its pads must fit in a long
+     */
+    public HoppersBitboardConfig(HoppersConfig config) {
+        char[][] board = config.getBoard();
+        this.layout = config.getLayout();
+        if (!this.layout.fits()) {
+            throw new IllegalArgumentException("board has more than " + HoppersLayout.MAX_PADS + " pads");
+        }
+        long greenPads = 0;
+        long redPads = 0;
+        for (int pad = 0; pad < this.layout.getNumPads(); ++pad) {
+            switch (board[this.layout.getPadRow(pad)][this.layout.getPadCol(pad)]) {
+                case HoppersConfig.GREEN_FROG -> greenPads |= 1L << pad;
+                case HoppersConfig.RED_FROG -> redPads |= 1L << pad;
+            }
+        }
+        this.green = greenPads;
+        this.red = redPads;
+    }
+
+    /**
+     * Creates a config on the same board.
+     *
+     * @param layout the board shape and jumps
+     * @param green pads holding a green frog
+     * @param red pads holding a red frog
+     */
+    private HoppersBitboardConfig(HoppersLayout layout, long green, long red) {
+        this.layout = layout;
+        this.green = green;
+        this.red = red;
+    }
+
+    @Override
+    public boolean isSolution() {
+        return this.green == 0 && Long.bitCount(this.red) == 1;
+    }
+
+    /**
+     * Writes the index of every jump that can be made from this config
+     * into a buffer, in the order the successors are generated in.
+     *
+     * @param moves buffer with room for at least layout.getNumJumps() moves
+     * @return number of moves written
+     */
+    public int getMoves(int[] moves) {
+        int count = 0;
+        long frogs = this.green | this.red;
+        for (long remaining = frogs; remaining != 0; remaining &= remaining - 1) {
+            int pad = Long.numberOfTrailingZeros(remaining);
+            for (int jump = this.layout.getFirstJump(pad); jump < this.layout.getLastJump(pad); ++jump) {
+                //only green frogs can be jumped over
+                if ((this.green >>> this.layout.getJumpOver(jump) & 1) != 0
+                        && (frogs >>> this.layout.getJumpTo(jump) & 1) == 0) {
+                    moves[count++] = jump;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Makes a jump found by getMoves.
+     *
+     * @param jump jump index
+     * @return the config after the jump
+     */
+    public HoppersBitboardConfig applyMove(int jump) {
+        long from = 1L << this.layout.getJumpFrom(jump);
+        long to = 1L << this.layout.getJumpTo(jump);
+        long green = this.green & ~(1L << this.layout.getJumpOver(jump));
+        long red = this.red;
+        if ((red & from) != 0) {
+            red ^= from | to;
+        } else {
+            green ^= from | to;
+        }
+        return new HoppersBitboardConfig(this.layout, green, red);
+    }
+
+    @Override
+    public Collection<Configuration> getSuccessors() {
+        ArrayList<Configuration> successors = new ArrayList<>();
+        forEachSuccessor(successors::add);
+        return successors;
+    }
+
+    @Override
+    public boolean forEachSuccessor(SuccessorVisitor visitor) {
+        SuccessorsEvent event = SearchEvents.beginSuccessors();
+        int count = 0;
+        boolean going = true;
+        long frogs = this.green | this.red;
+        for (long remaining = frogs; going && remaining != 0; remaining &= remaining - 1) {
+            int pad = Long.numberOfTrailingZeros(remaining);
+            for (int jump = this.layout.getFirstJump(pad); going && jump < this.layout.getLastJump(pad); ++jump) {
+                if ((this.green >>> this.layout.getJumpOver(jump) & 1) != 0
+                        && (frogs >>> this.layout.getJumpTo(jump) & 1) == 0) {
+                    going = visitor.visit(applyMove(jump));
+                    ++count;
+                }
+            }
+        }
+        SearchEvents.endSuccessors(event, this, count);
+        return going;
+    }
+
+    /**
+     * @param pad pad index
+     * @return the board space the pad shows
+     */
+    private char getSpace(int pad) {
+        if ((this.green >>> pad & 1) != 0) {
+            return HoppersConfig.GREEN_FROG;
+        }
+        if ((this.red >>> pad & 1) != 0) {
+            return HoppersConfig.RED_FROG;
+        }
+        return HoppersConfig.EMPTY;
+    }
+
+    /**
+     * @return 2D array of current board state
+     */
+    public char[][] getBoard() {
+        char[][] board = new char[this.layout.getNumRows()][this.layout.getNumCols()];
+        for (int row = 0; row < board.length; ++row) {
+            for (int col = 0; col < board[row].length; ++col) {
+                int pad = this.layout.getPad(row, col);
+                board[row][col] = pad == -1 ? HoppersConfig.INVALID : getSpace(pad);
+            }
+        }
+        return board;
+    }
+
+    @Override
+    public String display() {
+        char[][] board = getBoard();
+        StringBuilder output = new StringBuilder();
+        output.append("\n");
+        for (char[] row : board) {
+            for (char space : row) {
+                output.append(space);
+                output.append("\s");
+            }
+            output.append("\n");
+        }
+        return output.toString();
+    }
+
+    /**
+     * Gets the mirror or rotation of this config with the smallest masks.
+     */
+    @Override
+    public Configuration canonical() {
+        HoppersBitboardConfig best = this;
+        for (int[] symmetry : this.layout.getSymmetries()) {
+            long green = permute(this.green, symmetry);
+            long red = permute(this.red, symmetry);
+            int order = Long.compareUnsigned(green, best.green);
+            if (order < 0 || order == 0 && Long.compareUnsigned(red, best.red) < 0) {
+                best = new HoppersBitboardConfig(this.layout, green, red);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Helper function to move every pad of a set to where a symmetry takes it
+     *
+     * @param pads set of pads
+     * @param symmetry where each pad goes
+     * @return the moved set of pads
+     */
+    private static long permute(long pads, int[] symmetry) {
+        long image = 0;
+        for (long remaining = pads; remaining != 0; remaining &= remaining - 1) {
+            image |= 1L << symmetry[Long.numberOfTrailingZeros(remaining)];
+        }
+        return image;
+    }
+
+    @Override
+    public Configuration getGoalConfig() {
+        return null;
+    }
+
+    /**
+     * Every pad is stored in 2 bits in row major order, the same way
+     * HoppersConfig stores it.
+     */
+    @Override
+    public int getStateCodeSize() {
+        return (this.layout.getNumPads() + 3) / 4;
+    }
+
+    @Override
+    public long encodeState() {
+        long code = 0;
+        for (int pad = 0; pad < this.layout.getNumPads(); ++pad) {
+            code |= (this.green >>> pad & 1L) << (2 * pad) | (this.red >>> pad & 1L) << (2 * pad + 1);
+        }
+        return code;
+    }
+
+    @Override
+    public byte[] encodeStateBytes() {
+        byte[] code = new byte[getStateCodeSize()];
+        for (int pad = 0; pad < this.layout.getNumPads(); ++pad) {
+            int space = (int) (this.green >>> pad & 1) | (int) (this.red >>> pad & 1) << 1;
+            code[pad / 4] |= (byte) (space << (pad % 4 * 2));
+        }
+        return code;
+    }
+
+    @Override
+    public Configuration decodeState(long code) {
+        long greenPads = 0;
+        long redPads = 0;
+        for (int pad = 0; pad < this.layout.getNumPads(); ++pad) {
+            greenPads |= (code >>> (2 * pad) & 1) << pad;
+            redPads |= (code >>> (2 * pad + 1) & 1) << pad;
+        }
+        return new HoppersBitboardConfig(this.layout, greenPads, redPads);
+    }
+
+    @Override
+    public Configuration decodeState(byte[] code) {
+        long greenPads = 0;
+        long redPads = 0;
+        for (int pad = 0; pad < this.layout.getNumPads(); ++pad) {
+            int space = code[pad / 4] >> (pad % 4 * 2) & 3;
+            greenPads |= (long) (space & 1) << pad;
+            redPads |= (long) (space >> 1) << pad;
+        }
+        return new HoppersBitboardConfig(this.layout, greenPads, redPads);
+    }
+
+    @Override
+    public boolean hasMoveCodes() {
+        return true;
+    }
+
+    /**
+     * A move is coded as the index of its jump in the layout.
+     */
+    @Override
+    public int describeMove(Configuration successor) {
+        HoppersBitboardConfig after = (HoppersBitboardConfig) successor;
+        long frogs = this.green | this.red;
+        long frogsAfter = after.green | after.red;
+        int to = Long.numberOfTrailingZeros(frogsAfter & ~frogs);
+        //both the pad jumped from and the frog jumped over are emptied,
+        //but only the first is a jump away from where the frog landed
+        for (long emptied = frogs & ~frogsAfter; emptied != 0; emptied &= emptied - 1) {
+            int jump = this.layout.findJump(Long.numberOfTrailingZeros(emptied), to);
+            if (jump != -1) {
+                return jump;
+            }
+        }
+        throw new IllegalArgumentException("not a successor: " + successor.display());
+    }
+
+    @Override
+    public Configuration undoMove(int jump) {
+        long from = 1L << this.layout.getJumpFrom(jump);
+        long to = 1L << this.layout.getJumpTo(jump);
+        long green = this.green | 1L << this.layout.getJumpOver(jump);
+        long red = this.red;
+        if ((red & to) != 0) {
+            red ^= from | to;
+        } else {
+            green ^= from | to;
+        }
+        return new HoppersBitboardConfig(this.layout, green, red);
+    }
+
+    @Override
+    public MutableState toMutableState() {
+        return new HoppersMutableState(this, this.layout);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        boolean result = false;
+        if (o instanceof HoppersBitboardConfig) {
+            HoppersBitboardConfig h = (HoppersBitboardConfig) o;
+            result = this.green == h.green && this.red == h.red;
+        }
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.green * 0x9E3779B97F4A7C15L + this.red);
+    }
+
+    /** @return the board shape and jumps shared by every config */
+    public HoppersLayout getLayout() {
+        return this.layout;
+    }
+}
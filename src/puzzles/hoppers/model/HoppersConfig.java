@@ -1,6 +1,10 @@
 package puzzles.hoppers.model;
 
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.MutableState;
+import puzzles.common.solver.SearchEvents;
+import puzzles.common.solver.SuccessorVisitor;
+import puzzles.common.solver.SuccessorsEvent;
 
 import java.io.*;
 import java.util.ArrayList;
@@ -24,12 +28,12 @@ public class HoppersConfig implements Configuration {
     /** character to represent an invalid space */
     public static final char INVALID = '*';
 
-    /** number of rows of board */
-    public static int numRows;
-    /** number of columns of board */
-    public static int numCols;
+    /** the board shape and jumps, shared by every config of the puzzle */
+    private final HoppersLayout layout;
     /** 2D array representing board state */
     private char[][] board;
+    /** Zobrist hash of the frogs, the XOR of the layout's key of each frog on its pad */
+    private long hash;
 
     /**
      * Creates the initial config of a Hoppers puzzle.
@@ -38,11 +42,20 @@ public class HoppersConfig implements Configuration {
      * @throws IOException if error occurs whilst reading from file
      */
     public HoppersConfig(String filename) throws IOException {
-        BufferedReader in = new BufferedReader(new FileReader(filename));
+        this(new BufferedReader(new FileReader(filename)));
+    }
 
+    /**
+     * Creates the initial config of a Hoppers puzzle from game data in
+     * the same format as a puzzle file, then closes the reader.
+     *
+     * @param in reader of the game data
+     * @throws IOException if error occurs whilst reading
+     */
+    public HoppersConfig(BufferedReader in) throws IOException {
         String[] fields = in.readLine().split("\\s+");
-        numRows = Integer.parseInt(fields[0]);
-        numCols = Integer.parseInt(fields[1]);
+        int numRows = Integer.parseInt(fields[0]);
+        int numCols = Integer.parseInt(fields[1]);
 
         this.board = new char[numRows][numCols];
 
@@ -54,6 +67,10 @@ public class HoppersConfig implements Configuration {
         }
 
         in.close();
+        this.layout = new HoppersLayout(this.board);
+        for (int pad = 0; pad < this.layout.getNumPads(); ++pad) {
+            this.hash ^= this.layout.getZobristKey(pad, getSpace(pad));
+        }
     }
 
     /**
@@ -63,10 +80,12 @@ public class HoppersConfig implements Configuration {
      *              config.
      */
     public HoppersConfig(HoppersConfig other) {
-        this.board = new char[numRows][numCols];
-        for(int row = 0; row < numRows; ++row) {
-            System.arraycopy(other.board[row], 0, this.board[row], 0, numCols);
+        this.layout = other.layout;
+        this.board = new char[getNumRows()][getNumCols()];
+        for(int row = 0; row < getNumRows(); ++row) {
+            System.arraycopy(other.board[row], 0, this.board[row], 0, getNumCols());
         }
+        this.hash = other.hash;
     }
 
     /**
@@ -76,12 +95,33 @@ public class HoppersConfig implements Configuration {
         return this.board;
     }
 
+    /**
+     * @return number of rows of board
+     */
+    public int getNumRows() {
+        return this.layout.getNumRows();
+    }
+
+    /**
+     * @return number of columns of board
+     */
+    public int getNumCols() {
+        return this.layout.getNumCols();
+    }
+
+    /**
+     * @return the board shape and jumps, shared by every config of the puzzle
+     */
+    public HoppersLayout getLayout() {
+        return this.layout;
+    }
+
     @Override
     public boolean isSolution() {
         int totalFrogs = 0;
         char finalFrog = GREEN_FROG;
-        for (int row = 0; row < numRows; ++row) {
-            for (int col = 0; col < numCols; ++col) {
+        for (int row = 0; row < getNumRows(); ++row) {
+            for (int col = 0; col < getNumCols(); ++col) {
                 char currentSpace = this.board[row][col];
                 if (currentSpace == INVALID) {
                     continue;
@@ -99,25 +139,49 @@ public class HoppersConfig implements Configuration {
     @Override
     public Collection<Configuration> getSuccessors() {
         ArrayList<Configuration> successors = new ArrayList<>();
-        for (int row = 0; row < numRows; ++row) {
-            for (int col = 0; col < numCols; ++col) {
+        forEachSuccessor(successors::add);
+        return successors;
+    }
+
+    @Override
+    public boolean forEachSuccessor(SuccessorVisitor visitor) {
+        SuccessorsEvent event = SearchEvents.beginSuccessors();
+        int count = 0;
+        boolean going = true;
+        for (int row = 0; going && row < getNumRows(); ++row) {
+            for (int col = 0; going && col < getNumCols(); ++col) {
                 char currentSpace = this.board[row][col];
                 if (!isFrog(currentSpace)) {
                     continue;
                 }
                 for (Integer[] coordinates : getMovableSpaces(row, col)) {
-                    HoppersConfig successor = new HoppersConfig(this);
-                    switch (currentSpace) {
-                        case RED_FROG -> successor.board[coordinates[0]][coordinates[1]] = RED_FROG;
-                        case GREEN_FROG -> successor.board[coordinates[0]][coordinates[1]] = GREEN_FROG;
+                    going = visitor.visit(jump(row, col, coordinates));
+                    ++count;
+                    if (!going) {
+                        break;
                     }
-                    successor.board[coordinates[2]][coordinates[3]] = EMPTY;
-                    successor.board[row][col] = EMPTY;
-                    successors.add(successor);
                 }
             }
         }
-        return successors;
+        SearchEvents.endSuccessors(event, this, count);
+        return going;
+    }
+
+    /**
+     * Makes a jump found by getMovableSpaces. Only the three spaces of the
+     * jump change, so only their keys change in the hash.
+     *
+     * @param row current row position of frog
+     * @param col current col position of frog
+     * @param coordinates where the frog lands and the frog it jumps over, as given by getMovableSpaces
+     * @return the config after the jump
+     */
+    public HoppersConfig jump(int row, int col, Integer[] coordinates) {
+        HoppersConfig successor = new HoppersConfig(this);
+        successor.setSpace(coordinates[0], coordinates[1], this.board[row][col]);
+        successor.setSpace(coordinates[2], coordinates[3], EMPTY);
+        successor.setSpace(row, col, EMPTY);
+        return successor;
     }
 
     /**
@@ -149,19 +213,19 @@ public class HoppersConfig implements Configuration {
                     movableSpaces.add(new Integer[]{row - 2, col - 2, row - 1, col - 1});
                 }
             }
-            if (col + 2 <= numCols - 1) {
+            if (col + 2 <= getNumCols() - 1) {
                 if (this.board[row - 1][col + 1] == GREEN_FROG && this.board[row - 2][col + 2] == EMPTY) {
                     movableSpaces.add(new Integer[]{row - 2, col + 2, row - 1, col + 1});
                 }
             }
         }
-        if (row + 2 <= numRows - 1) {
+        if (row + 2 <= getNumRows() - 1) {
             if (col - 2 >= 0) {
                 if (this.board[row + 1][col - 1] == GREEN_FROG && this.board[row + 2][col - 2] == EMPTY) {
                     movableSpaces.add(new Integer[]{row + 2, col - 2, row + 1, col - 1});
                 }
             }
-            if (col + 2 <= numCols - 1) {
+            if (col + 2 <= getNumCols() - 1) {
                 if (this.board[row + 1][col + 1] == GREEN_FROG && this.board[row + 2][col + 2] == EMPTY) {
                     movableSpaces.add(new Integer[]{row + 2, col + 2, row + 1, col + 1});
                 }
@@ -174,7 +238,7 @@ public class HoppersConfig implements Configuration {
                     movableSpaces.add(new Integer[]{row - 4, col, row - 2, col});
                 }
             }
-            if (row + 4 <= numRows - 1) {
+            if (row + 4 <= getNumRows() - 1) {
                 if (this.board[row + 2][col] == GREEN_FROG && this.board[row + 4][col] == EMPTY) {
                     movableSpaces.add(new Integer[]{row + 4, col, row + 2, col});
                 }
@@ -184,7 +248,7 @@ public class HoppersConfig implements Configuration {
                     movableSpaces.add(new Integer[]{row, col - 4, row, col - 2});
                 }
             }
-            if (col + 4 <= numCols - 1) {
+            if (col + 4 <= getNumCols() - 1) {
                 if (this.board[row][col + 2] == GREEN_FROG && this.board[row][col + 4] == EMPTY) {
                     movableSpaces.add(new Integer[]{row, col + 4, row, col + 2});
                 }
@@ -198,8 +262,8 @@ public class HoppersConfig implements Configuration {
     public String display() {
         StringBuilder output = new StringBuilder();
         output.append("\n");
-        for (int row = 0; row < numRows; ++row) {
-            for (int col = 0; col < numCols; ++col) {
+        for (int row = 0; row < getNumRows(); ++row) {
+            for (int col = 0; col < getNumCols(); ++col) {
                 output.append(this.board[row][col]);
                 output.append("\s");
             }
@@ -214,18 +278,164 @@ public class HoppersConfig implements Configuration {
         return null;
     }
 
+    /**
+     * Gets the 2 bit code of a valid space.
+     *
+     * @param space board space being encoded
+     * @return 0 for an empty pad, 1 for a green frog, 2 for a red frog
+     */
+    private static int encodeSpace(char space) {
+        return switch (space) {
+            case GREEN_FROG -> 1;
+            case RED_FROG -> 2;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Gets the valid space a 2 bit code stands for.
+     *
+     * @param code code made by encodeSpace
+     * @return the board space
+     */
+    private static char decodeSpace(int code) {
+        return switch (code) {
+            case 1 -> GREEN_FROG;
+            case 2 -> RED_FROG;
+            default -> EMPTY;
+        };
+    }
+
+    /**
+     * Every valid space is stored in 2 bits, in the layout's row major
+     * pad order. Water spaces never change, so they are not stored at all.
+     */
+    @Override
+    public int getStateCodeSize() {
+        return (this.layout.getNumPads() + 3) / 4;
+    }
+
+    /**
+     * @param pad pad index in the layout
+     * @return the space of the pad on this board
+     */
+    private char getSpace(int pad) {
+        return this.board[this.layout.getPadRow(pad)][this.layout.getPadCol(pad)];
+    }
+
+    /**
+     * @param pad pad index in the layout
+     * @param space new space of the pad on this board
+     */
+    private void setSpace(int pad, char space) {
+        setSpace(this.layout.getPadRow(pad), this.layout.getPadCol(pad), space);
+    }
+
+    /**
+     * Sets a valid space, and swaps the keys of what was and what is now on it in the hash.
+     *
+     * @param row row of the space
+     * @param col column of the space
+     * @param space new space on this board
+     */
+    private void setSpace(int row, int col, char space) {
+        int pad = this.layout.getPad(row, col);
+        this.hash ^= this.layout.getZobristKey(pad, this.board[row][col]) ^ this.layout.getZobristKey(pad, space);
+        this.board[row][col] = space;
+    }
+
+    @Override
+    public long encodeState() {
+        long code = 0;
+        for (int pad = 0; pad < this.layout.getNumPads(); ++pad) {
+            code |= (long) encodeSpace(getSpace(pad)) << (pad * 2);
+        }
+        return code;
+    }
+
+    @Override
+    public byte[] encodeStateBytes() {
+        byte[] code = new byte[getStateCodeSize()];
+        for (int pad = 0; pad < this.layout.getNumPads(); ++pad) {
+            code[pad / 4] |= (byte) (encodeSpace(getSpace(pad)) << (pad % 4 * 2));
+        }
+        return code;
+    }
+
+    @Override
+    public Configuration decodeState(long code) {
+        HoppersConfig config = new HoppersConfig(this);
+        for (int pad = 0; pad < this.layout.getNumPads(); ++pad) {
+            config.setSpace(pad, decodeSpace((int) (code >>> (pad * 2)) & 3));
+        }
+        return config;
+    }
+
+    @Override
+    public Configuration decodeState(byte[] code) {
+        HoppersConfig config = new HoppersConfig(this);
+        for (int pad = 0; pad < this.layout.getNumPads(); ++pad) {
+            config.setSpace(pad, decodeSpace(code[pad / 4] >> (pad % 4 * 2) & 3));
+        }
+        return config;
+    }
+
+    @Override
+    public boolean hasMoveCodes() {
+        return true;
+    }
+
+    /**
+     * A move is coded as the index of its jump in the layout, the same as in HoppersBitboardConfig.
+     */
+    @Override
+    public int describeMove(Configuration successor) {
+        HoppersConfig after = (HoppersConfig) successor;
+        int to = 0;
+        while (to < this.layout.getNumPads() - 1 && (isFrog(getSpace(to)) || !isFrog(after.getSpace(to)))) {
+            ++to;
+        }
+        //both the pad jumped from and the frog jumped over are emptied,
+        //but only the first is a jump away from where the frog landed
+        for (int pad = 0; pad < this.layout.getNumPads(); ++pad) {
+            if (isFrog(getSpace(pad)) && !isFrog(after.getSpace(pad))) {
+                int jump = this.layout.findJump(pad, to);
+                if (jump != -1) {
+                    return jump;
+                }
+            }
+        }
+        throw new IllegalArgumentException("not a successor: " + successor.display());
+    }
+
+    @Override
+    public Configuration undoMove(int jump) {
+        HoppersConfig config = new HoppersConfig(this);
+        int to = this.layout.getJumpTo(jump);
+        config.setSpace(this.layout.getJumpFrom(jump), getSpace(to));
+        config.setSpace(this.layout.getJumpOver(jump), GREEN_FROG);
+        config.setSpace(to, EMPTY);
+        return config;
+    }
+
+    @Override
+    public MutableState toMutableState() {
+        return new HoppersMutableState(this, this.layout);
+    }
+
     @Override
     public boolean equals(Object o) {
         boolean result = false;
         if (o instanceof HoppersConfig) {
             HoppersConfig h = (HoppersConfig) o;
-            result = Arrays.deepEquals(this.board, h.board);
+            //configs with different hashes can't be equal, so most unequal boards are never compared
+            result = this.hash == h.hash && Arrays.deepEquals(this.board, h.board);
         }
         return result;
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(board);
+        return Long.hashCode(this.hash);
     }
 }
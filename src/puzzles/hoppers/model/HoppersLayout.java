@@ -0,0 +1,303 @@
+package puzzles.hoppers.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * The shape of a Hoppers board, which never changes between configs.
+ * Every config of a puzzle shares one layout, so puzzles of different
+ * sizes can be loaded and solved side by side.
+ * Every valid space (lily pad) gets an index in row major order, so a
+ * set of pads fits in a long for boards of up to 64 pads, which is what
+ * HoppersBitboardConfig needs. For every pad the jumps a frog on it
+ * could make are precomputed once, in the same order
+ * HoppersConfig.getMovableSpaces checks them. Every pad also gets a random
+ * Zobrist key for a green frog and one for a red frog on it, which
+ * HoppersConfig XORs together into its hash.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class HoppersLayout {
+    /** largest number of pads a board can have to fit in a long */
+    public static final int MAX_PADS = Long.SIZE;
+    /** seed of the Zobrist keys, fixed so a config hashes the same on every run */
+    private static final long ZOBRIST_SEED = 0x686f70704c61796fL;
+
+    /** number of rows of board */
+    private final int numRows;
+    /** number of columns of board */
+    private final int numCols;
+    /** pad index of each space, or -1 for an invalid space */
+    private final int[][] padIndex;
+    /** row of each pad */
+    private final int[] padRows;
+    /** column of each pad */
+    private final int[] padCols;
+    /** index of the first jump of each pad; the jumps of pad p end where those of pad p + 1 start */
+    private final int[] firstJump;
+    /** pad jumped from, for each jump */
+    private final int[] jumpFrom;
+    /** pad of the frog jumped over, for each jump */
+    private final int[] jumpOver;
+    /** pad landed on, for each jump */
+    private final int[] jumpTo;
+    /** where each pad goes under each symmetry of the board other than the identity */
+    private final int[][] symmetries;
+    /** random key of a green frog on each pad */
+    private final long[] greenKeys;
+    /** random key of a red frog on each pad */
+    private final long[] redKeys;
+
+    /**
+     * Creates the layout of a board.
+     *
+     * @param board any board of the puzzle; only its invalid spaces are looked at
+     */
+    public HoppersLayout(char[][] board) {
+        this.numRows = board.length;
+        this.numCols = board[0].length;
+        this.padIndex = new int[this.numRows][this.numCols];
+
+        int pads = 0;
+        for (int row = 0; row < this.numRows; ++row) {
+            for (int col = 0; col < this.numCols; ++col) {
+                this.padIndex[row][col] = board[row][col] == HoppersConfig.INVALID ? -1 : pads++;
+            }
+        }
+        this.padRows = new int[pads];
+        this.padCols = new int[pads];
+        this.firstJump = new int[pads + 1];
+
+        //at most 8 jumps from each pad
+        int[] from = new int[pads * 8];
+        int[] over = new int[pads * 8];
+        int[] to = new int[pads * 8];
+        int jumps = 0;
+        for (int row = 0; row < this.numRows; ++row) {
+            for (int col = 0; col < this.numCols; ++col) {
+                int pad = this.padIndex[row][col];
+                if (pad == -1) {
+                    continue;
+                }
+                this.padRows[pad] = row;
+                this.padCols[pad] = col;
+                this.firstJump[pad] = jumps;
+                int[][] directions = row % 2 == 0 && col % 2 == 0
+                        ? new int[][]{{-1, -1}, {-1, 1}, {1, -1}, {1, 1}, {-2, 0}, {2, 0}, {0, -2}, {0, 2}}
+                        : new int[][]{{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+                for (int[] direction : directions) {
+                    int overPad = getPad(row + direction[0], col + direction[1]);
+                    int toPad = getPad(row + 2 * direction[0], col + 2 * direction[1]);
+                    if (overPad != -1 && toPad != -1) {
+                        from[jumps] = pad;
+                        over[jumps] = overPad;
+                        to[jumps] = toPad;
+                        ++jumps;
+                    }
+                }
+            }
+        }
+        this.firstJump[pads] = jumps;
+        this.jumpFrom = Arrays.copyOf(from, jumps);
+        this.jumpOver = Arrays.copyOf(over, jumps);
+        this.jumpTo = Arrays.copyOf(to, jumps);
+        this.symmetries = findSymmetries();
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED);
+        this.greenKeys = random.longs(pads).toArray();
+        this.redKeys = random.longs(pads).toArray();
+    }
+
+    /**
+     * Helper function to find the mirrors and rotations of the board that
+     * map every pad to a pad and keep the pads frogs can jump 4 spaces
+     * from. Those map every jump to a jump, so they map configs to
+     * equivalent configs.
+     *
+     * @return where each pad goes under each such symmetry other than the identity
+     */
+    private int[][] findSymmetries() {
+        int lastRow = this.numRows - 1;
+        int lastCol = this.numCols - 1;
+        //row and column each space goes to, for the flips, the half turn, and
+        //on square boards the two diagonal flips and the two quarter turns
+        List<IntBinaryOperator[]> transforms = new ArrayList<>(List.of(
+                new IntBinaryOperator[]{(row, col) -> lastRow - row, (row, col) -> col},
+                new IntBinaryOperator[]{(row, col) -> row, (row, col) -> lastCol - col},
+                new IntBinaryOperator[]{(row, col) -> lastRow - row, (row, col) -> lastCol - col}));
+        if (this.numRows == this.numCols) {
+            transforms.addAll(List.of(
+                    new IntBinaryOperator[]{(row, col) -> col, (row, col) -> row},
+                    new IntBinaryOperator[]{(row, col) -> lastCol - col, (row, col) -> lastRow - row},
+                    new IntBinaryOperator[]{(row, col) -> col, (row, col) -> lastRow - row},
+                    new IntBinaryOperator[]{(row, col) -> lastCol - col, (row, col) -> row}));
+        }
+
+        List<int[]> found = new ArrayList<>();
+        for (IntBinaryOperator[] transform : transforms) {
+            int[] image = new int[getNumPads()];
+            boolean symmetric = true;
+            for (int pad = 0; pad < image.length && symmetric; ++pad) {
+                int row = this.padRows[pad];
+                int col = this.padCols[pad];
+                int newRow = transform[0].applyAsInt(row, col);
+                int newCol = transform[1].applyAsInt(row, col);
+                image[pad] = getPad(newRow, newCol);
+                symmetric = image[pad] != -1
+                        && (row % 2 == 0 && col % 2 == 0) == (newRow % 2 == 0 && newCol % 2 == 0);
+            }
+            if (symmetric) {
+                found.add(image);
+            }
+        }
+        return found.toArray(new int[0][]);
+    }
+
+    /**
+     * @param board any board of the puzzle
+     * @return true if the board's pads fit in a long
+     */
+    public static boolean fits(char[][] board) {
+        int pads = 0;
+        for (char[] row : board) {
+            for (char space : row) {
+                if (space != HoppersConfig.INVALID) {
+                    ++pads;
+                }
+            }
+        }
+        return pads <= MAX_PADS;
+    }
+
+    /**
+     * @return true if the board's pads fit in a long, so its configs can be HoppersBitboardConfigs
+     */
+    public boolean fits() {
+        return getNumPads() <= MAX_PADS;
+    }
+
+    /**
+     * @param row row of the space
+     * @param col column of the space
+     * @return pad index of the space, or -1 if it is off the board or invalid
+     */
+    public int getPad(int row, int col) {
+        if (row < 0 || row >= this.numRows || col < 0 || col >= this.numCols) {
+            return -1;
+        }
+        return this.padIndex[row][col];
+    }
+
+    /** @return number of pads */
+    public int getNumPads() {
+        return this.padRows.length;
+    }
+
+    /** @return number of jumps from all pads together */
+    public int getNumJumps() {
+        return this.jumpFrom.length;
+    }
+
+    /**
+     * @param pad pad index
+     * @return index of the first jump from the pad
+     */
+    public int getFirstJump(int pad) {
+        return this.firstJump[pad];
+    }
+
+    /**
+     * @param pad pad index
+     * @return index just past the last jump from the pad
+     */
+    public int getLastJump(int pad) {
+        return this.firstJump[pad + 1];
+    }
+
+    /**
+     * @param jump jump index
+     * @return pad the jump starts on
+     */
+    public int getJumpFrom(int jump) {
+        return this.jumpFrom[jump];
+    }
+
+    /**
+     * @param jump jump index
+     * @return pad of the frog the jump goes over
+     */
+    public int getJumpOver(int jump) {
+        return this.jumpOver[jump];
+    }
+
+    /**
+     * @param jump jump index
+     * @return pad the jump lands on
+     */
+    public int getJumpTo(int jump) {
+        return this.jumpTo[jump];
+    }
+
+    /**
+     * @param pad pad index
+     * @param space what is on the pad
+     * @return random key of a frog of that colour on the pad, or 0 if the space is not a frog
+     */
+    public long getZobristKey(int pad, char space) {
+        return switch (space) {
+            case HoppersConfig.GREEN_FROG -> this.greenKeys[pad];
+            case HoppersConfig.RED_FROG -> this.redKeys[pad];
+            default -> 0;
+        };
+    }
+
+    /**
+     * @param from pad a jump starts on
+     * @param to pad the jump lands on
+     * @return index of the jump, or -1 if there is no such jump
+     */
+    public int findJump(int from, int to) {
+        for (int jump = getFirstJump(from); jump < getLastJump(from); ++jump) {
+            if (this.jumpTo[jump] == to) {
+                return jump;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param pad pad index
+     * @return row of the pad
+     */
+    public int getPadRow(int pad) {
+        return this.padRows[pad];
+    }
+
+    /**
+     * @param pad pad index
+     * @return column of the pad
+     */
+    public int getPadCol(int pad) {
+        return this.padCols[pad];
+    }
+
+    /**
+     * @return where each pad goes under each mirror or rotation of the board,
+     * other than the identity, that maps configs to equivalent configs
+     */
+    public int[][] getSymmetries() {
+        return this.symmetries;
+    }
+
+    /** @return number of rows of board */
+    public int getNumRows() {
+        return this.numRows;
+    }
+
+    /** @return number of columns of board */
+    public int getNumCols() {
+        return this.numCols;
+    }
+}
@@ -1,11 +1,14 @@
 package puzzles.hoppers.model;
 
 import puzzles.common.Observer;
+import puzzles.common.solver.BFSEngine;
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.SearchEngine;
 import puzzles.common.solver.Solver;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * The model in the MVC design pattern for the Hoppers puzzle.
@@ -25,6 +28,9 @@ public class HoppersModel {
     /** data to be passed to the view */
     private HoppersClientData data;
 
+    /** makes the engine each hint is found with */
+    private Supplier<SearchEngine> hintEngines = BFSEngine::new;
+
     /**
      * Creates an model with an current config to
      * be changed later, as well as a reference to an
@@ -51,24 +57,68 @@ public class HoppersModel {
         return this.currentConfig;
     }
 
+    /**
+     * Chooses how hints are found. The views pass in the engines they
+     * offer, such as HoppersDFSEngine, which keeps far less in memory than
+     * BFS but may lead towards a different solution.
+     *
+     * @param hintEngines makes a new engine for each hint
+     */
+    public void setHintEngines(Supplier<SearchEngine> hintEngines) {
+        this.hintEngines = hintEngines;
+    }
+
+    /**
+     * @return a new engine of the kind chosen for hints
+     */
+    public SearchEngine newHintEngine() {
+        return this.hintEngines.get();
+    }
+
     /**
      * Advances the state of the puzzle by one move, if possible.
      */
     public void hint() {
-        Solver solver = new Solver();
-        List<Configuration> path;
-        Optional<List<Configuration>> solved = solver.solve(this.currentConfig);
-        if (solved.isPresent()) {
-            path = solved.get();
-        } else {
-            sendDataAndAlert("No solution for this puzzle\n");
-            return;
+        HoppersConfig from = this.currentConfig;
+        applyHint(from, findHint(from, newHintEngine()));
+    }
+
+    /**
+     * Finds the next move towards a solution without changing the model,
+     * so it can run on a background thread while the engine's counters
+     * are watched from another.
+     *
+     * @param config config to find the next move from
+     * @param engine engine to search with
+     * @return the config after the next move, config itself if it is already
+     * solved, or null if there is no solution
+     */
+    public static HoppersConfig findHint(HoppersConfig config, SearchEngine engine) {
+        Optional<List<Configuration>> solved = new Solver(engine).solve(config);
+        if (solved.isEmpty()) {
+            return null;
         }
-        if (path.size() > 1) {
-            this.currentConfig = (HoppersConfig) path.get(1);
-            sendDataAndAlert("Performed next step\n");
-        } else {
+        List<Configuration> path = solved.get();
+        return path.size() > 1 ? (HoppersConfig) path.get(1) : config;
+    }
+
+    /**
+     * Makes a move found by findHint, unless the board has changed since
+     * the search started.
+     *
+     * @param from config the hint was found from
+     * @param next result of findHint
+     */
+    public void applyHint(HoppersConfig from, HoppersConfig next) {
+        if (from != this.currentConfig) {
+            sendDataAndAlert("Board changed, hint discarded\n");
+        } else if (next == null) {
+            sendDataAndAlert("No solution for this puzzle\n");
+        } else if (next == from) {
             sendDataAndAlert("Puzzle already solved\n");
+        } else {
+            this.currentConfig = next;
+            sendDataAndAlert("Performed next step\n");
         }
     }
 
@@ -97,21 +147,11 @@ public class HoppersModel {
      * @param destCol destination col of jumping frog
      */
     public void select(int startRow, int startCol, int destRow, int destCol) {
-        HoppersConfig copyConfig = new HoppersConfig(this.currentConfig);
-        char[][] copyBoard = copyConfig.getBoard().clone();
-        char currentSpace = copyBoard[startRow][startCol];
-
-        for (Integer[] coordinates : copyConfig.getMovableSpaces(startRow, startCol)) {
+        for (Integer[] coordinates : this.currentConfig.getMovableSpaces(startRow, startCol)) {
             if (!(coordinates[0] == destRow && coordinates[1] == destCol)) {
                 continue;
             }
-            switch (currentSpace) {
-                case HoppersConfig.RED_FROG -> copyBoard[coordinates[0]][coordinates[1]] = HoppersConfig.RED_FROG;
-                case HoppersConfig.GREEN_FROG -> copyBoard[coordinates[0]][coordinates[1]] = HoppersConfig.GREEN_FROG;
-            }
-            copyBoard[coordinates[2]][coordinates[3]] = HoppersConfig.EMPTY;
-            copyBoard[startRow][startCol] = HoppersConfig.EMPTY;
-            this.currentConfig = copyConfig;
+            this.currentConfig = this.currentConfig.jump(startRow, startCol, coordinates);
             sendDataAndAlert("Move made: (" + startRow + ", " + startCol + ") -> (" + destRow + ", " + destCol + ")" + "\n");
             return;
         }
@@ -0,0 +1,153 @@
+package puzzles.hoppers.model;
+
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.MutableState;
+
+import java.util.Arrays;
+
+/**
+ * A Hoppers board that frogs jump on in place: what is on each pad, the
+ * number of frogs of each colour, and the Zobrist hash of the frogs, the
+ * same one HoppersConfig keeps. A move is the index of its jump in the
+ * layout, the same as HoppersConfig.describeMove, and the jumps are tried
+ * in the same order as HoppersConfig generates them.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+class HoppersMutableState implements MutableState {
+    /** what is on a pad, by the 2 bit code of state codes */
+    private static final char[] SPACES = {HoppersConfig.EMPTY, HoppersConfig.GREEN_FROG, HoppersConfig.RED_FROG};
+    /** code of an empty pad */
+    private static final byte EMPTY = 0;
+    /** code of a pad holding a green frog */
+    private static final byte GREEN = 1;
+
+    /** the board shape and jumps shared by every config */
+    private final HoppersLayout layout;
+    /** config of the puzzle that makes the configs of the states */
+    private final Configuration template;
+    /** code of what is on each pad */
+    private final byte[] pads;
+    /** number of green frogs on the board */
+    private int greenFrogs;
+    /** number of red frogs on the board */
+    private int redFrogs;
+    /** Zobrist hash of the frogs */
+    private long hash;
+
+    /**
+     * Creates a state with the frogs where they are in a config.
+     *
+     * @param template config to start from, which also makes the configs of the states
+     * @param layout the board shape and jumps
+     */
+    HoppersMutableState(Configuration template, HoppersLayout layout) {
+        this.layout = layout;
+        this.template = template;
+        this.pads = new byte[layout.getNumPads()];
+        byte[] code = template.encodeStateBytes();
+        for (int pad = 0; pad < this.pads.length; ++pad) {
+            this.pads[pad] = (byte) (code[pad / 4] >> (pad % 4 * 2) & 3);
+            switch (SPACES[this.pads[pad]]) {
+                case HoppersConfig.GREEN_FROG -> ++this.greenFrogs;
+                case HoppersConfig.RED_FROG -> ++this.redFrogs;
+            }
+            this.hash ^= layout.getZobristKey(pad, SPACES[this.pads[pad]]);
+        }
+    }
+
+    @Override
+    public int getMaxMoves() {
+        return this.layout.getNumJumps();
+    }
+
+    @Override
+    public int getMoves(int[] moves) {
+        int count = 0;
+        for (int pad = 0; pad < this.pads.length; ++pad) {
+            if (this.pads[pad] == EMPTY) {
+                continue;
+            }
+            for (int jump = this.layout.getFirstJump(pad); jump < this.layout.getLastJump(pad); ++jump) {
+                //only green frogs can be jumped over
+                if (this.pads[this.layout.getJumpOver(jump)] == GREEN
+                        && this.pads[this.layout.getJumpTo(jump)] == EMPTY) {
+                    moves[count++] = jump;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void makeMove(int jump) {
+        int from = this.layout.getJumpFrom(jump);
+        int to = this.layout.getJumpTo(jump);
+        byte frog = this.pads[from];
+        this.pads[to] = frog;
+        this.pads[from] = EMPTY;
+        this.pads[this.layout.getJumpOver(jump)] = EMPTY;
+        --this.greenFrogs;
+        this.hash ^= flip(jump, frog);
+    }
+
+    @Override
+    public void unmakeMove(int jump) {
+        int from = this.layout.getJumpFrom(jump);
+        int to = this.layout.getJumpTo(jump);
+        byte frog = this.pads[to];
+        this.pads[from] = frog;
+        this.pads[to] = EMPTY;
+        this.pads[this.layout.getJumpOver(jump)] = GREEN;
+        ++this.greenFrogs;
+        this.hash ^= flip(jump, frog);
+    }
+
+    /**
+     * @param jump jump index
+     * @param frog code of the jumping frog
+     * @return the keys that change in the hash when the jump is made or unmade
+     */
+    private long flip(int jump, byte frog) {
+        char space = SPACES[frog];
+        return this.layout.getZobristKey(this.layout.getJumpFrom(jump), space)
+                ^ this.layout.getZobristKey(this.layout.getJumpTo(jump), space)
+                ^ this.layout.getZobristKey(this.layout.getJumpOver(jump), HoppersConfig.GREEN_FROG);
+    }
+
+    /**
+     * @return true if only one frog is left and it is red; false otherwise
+     */
+    @Override
+    public boolean isSolution() {
+        return this.greenFrogs == 0 && this.redFrogs == 1;
+    }
+
+    /**
+     * Pads are packed 2 bits each, the same as HoppersConfig packs them.
+     */
+    @Override
+    public int getStateCodeSize() {
+        return (this.pads.length + 3) / 4;
+    }
+
+    @Override
+    public void encodeState(byte[] code, int offset) {
+        Arrays.fill(code, offset, offset + getStateCodeSize(), (byte) 0);
+        for (int pad = 0; pad < this.pads.length; ++pad) {
+            code[offset + pad / 4] |= (byte) (this.pads[pad] << (pad % 4 * 2));
+        }
+    }
+
+    @Override
+    public long getHash() {
+        return this.hash;
+    }
+
+    @Override
+    public Configuration toConfiguration() {
+        byte[] code = new byte[getStateCodeSize()];
+        encodeState(code, 0);
+        return this.template.decodeState(code);
+    }
+}
@@ -1,9 +1,11 @@
 package puzzles.hoppers.ptui;
 
 import puzzles.common.Observer;
+import puzzles.common.solver.BFSEngine;
 import puzzles.hoppers.model.HoppersClientData;
 import puzzles.hoppers.model.HoppersConfig;
 import puzzles.hoppers.model.HoppersModel;
+import puzzles.hoppers.solver.HoppersDFSEngine;
 
 import java.io.IOException;
 import java.util.Scanner;
@@ -62,6 +64,12 @@ public class HoppersPTUI implements Observer<HoppersModel, HoppersClientData> {
                     this.model.reset();
                     displayMessage();
 
+                } else if (input[0].startsWith("e") && input.length > 1
+                        && (input[1].equals("bfs") || input[1].equals("dfs"))) {
+                    boolean depthFirst = input[1].equals("dfs");
+                    this.model.setHintEngines(depthFirst ? HoppersDFSEngine::new : BFSEngine::new);
+                    System.out.println("Hints found with " + (depthFirst ? "depth-first search" : "BFS") + "\n");
+
                 } else {
                     displayHelp();
                 }
@@ -77,6 +85,7 @@ public class HoppersPTUI implements Observer<HoppersModel, HoppersClientData> {
         System.out.println(
                         """ 
                         h(int)              -- hint next move
+                        e(ngine) bfs|dfs    -- find hints with BFS or depth-first search
                         l(oad) filename     -- load new puzzle file
                         s(elect) r c        -- select cell at r, c
                         q(uit)              -- quit the game
@@ -101,20 +110,20 @@ public class HoppersPTUI implements Observer<HoppersModel, HoppersClientData> {
         output.append("\n");
         output.append("\s".repeat(3));
 
-        for (int col = 0; col < HoppersConfig.numCols; ++col) {
+        for (int col = 0; col < config.getNumCols(); ++col) {
             output.append(col);
             output.append("\s");
         }
 
         output.append("\n");
         output.append("\s".repeat(2));
-        output.append("--".repeat(Math.max(0, HoppersConfig.numCols)));
+        output.append("--".repeat(Math.max(0, config.getNumCols())));
         output.append("\n");
 
-        for (int row = 0; row < HoppersConfig.numRows; ++row) {
+        for (int row = 0; row < config.getNumRows(); ++row) {
             output.append(row);
             output.append("|\s");
-            for (int col = 0; col < HoppersConfig.numCols; ++col) {
+            for (int col = 0; col < config.getNumCols(); ++col) {
                 output.append(config.getBoard()[row][col]);
                 output.append("\s");
             }
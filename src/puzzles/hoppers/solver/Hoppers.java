@@ -1,9 +1,14 @@
 package puzzles.hoppers.solver;
 
+import puzzles.common.solver.CanonicalBFSEngine;
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.ParallelBFSEngine;
 import puzzles.common.solver.Solver;
+import puzzles.hoppers.model.HoppersBitboardConfig;
 import puzzles.hoppers.model.HoppersConfig;
 
+import java.io.BufferedReader;
+import java.io.FileReader;
 import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
@@ -18,14 +23,23 @@ import java.util.Optional;
  */
 public class Hoppers {
     public static void main(String[] args) throws IOException {
-        if (args.length != 1) {
-            System.out.println("Usage: java Hoppers filename");
+        if (args.length != 1 && args.length != 2) {
+            System.out.println("Usage: java Hoppers filename [threads|dfs|sym]");
         }
 
-        Solver solver = new Solver();
+        Solver solver;
+        if (args.length == 1) {
+            solver = new Solver();
+        } else if (args[1].equals("dfs")) {
+            solver = new Solver(new HoppersDFSEngine());
+        } else if (args[1].equals("sym")) {
+            solver = new Solver(new CanonicalBFSEngine());
+        } else {
+            solver = new Solver(new ParallelBFSEngine(Integer.parseInt(args[1])));
+        }
         List<Configuration> path = new LinkedList<>();
 
-        HoppersConfig config = new HoppersConfig(args[0]);
+        Configuration config = load(args[0]);
 
         Optional<List<Configuration>> solved = solver.solve(config);
 
@@ -37,4 +51,30 @@ public class Hoppers {
         System.out.println(config.display());
         solver.displaySolution(path);
     }
+
+    /**
+     * Loads a Hoppers puzzle file the way it is solved from the command line.
+     *
+     * @param filename the puzzle file
+     * @return the initial config
+     * @throws IOException if the file can't be read
+     */
+    public static Configuration load(String filename) throws IOException {
+        return load(new BufferedReader(new FileReader(filename)));
+    }
+
+    /**
+     * Loads a Hoppers puzzle the way it is solved from the command line.
+     *
+     * @param in reader of the puzzle, in the format of a puzzle file; it is closed
+     * @return the initial config
+     * @throws IOException if the puzzle can't be read
+     */
+    public static Configuration load(BufferedReader in) throws IOException {
+        HoppersConfig hoppers = new HoppersConfig(in);
+        //boards whose pads fit in a long are solved on the much cheaper bitboard configs
+        return hoppers.getLayout().fits()
+                ? new HoppersBitboardConfig(hoppers)
+                : hoppers;
+    }
 }
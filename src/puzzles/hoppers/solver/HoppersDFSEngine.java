@@ -0,0 +1,104 @@
+package puzzles.hoppers.solver;
+
+import puzzles.common.solver.BudgetMeter;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.SearchBudget;
+import puzzles.common.solver.SearchEngine;
+import puzzles.hoppers.model.HoppersBitboardConfig;
+import puzzles.hoppers.model.HoppersConfig;
+
+import java.util.*;
+
+/**
+ * A depth-first search for Hoppers puzzles. Every jump removes exactly one
+ * green frog, so no config can be reached twice along one path, and every
+ * solution is as many moves long as there are green frogs to begin with.
+ * The first solution found is therefore a shortest one, and a config that
+ * has been fully explored without reaching a solution never needs to be
+ * looked at again. Only the current path and the set of those dead configs
+ * are kept, instead of whole levels of a breadth-first search. Only
+ * Hoppers configs are accepted, since other puzzles don't shrink with every
+ * move and would get paths that aren't shortest. Interrupting the search's
+ * thread stops it through its meter.
+ *
+ * @author Hritik "Ricky" Gupta | rg4825@rit.edu
+ */
+public class HoppersDFSEngine implements SearchEngine {
+
+    /** number of configs generated so far */
+    private int numConfigs;
+    /** unique number of configs generated so far */
+    private int uniqueNumConfigs;
+    /** meter of the budget the search may use */
+    private BudgetMeter meter = new BudgetMeter(SearchBudget.UNLIMITED);
+
+    /**
+     * Sets the default values for how many configs have been generated.
+     * Both are equal to 1, because there is always 1 config generated --
+     * the provided one.
+     */
+    public HoppersDFSEngine() {
+        this.numConfigs = 1;
+        this.uniqueNumConfigs = 1;
+    }
+
+    @Override
+    public Optional<List<Configuration>> search(Configuration config) {
+        if (!(config instanceof HoppersConfig || config instanceof HoppersBitboardConfig)) {
+            throw new IllegalArgumentException("HoppersDFSEngine only solves Hoppers puzzles");
+        }
+        List<Configuration> path = new ArrayList<>();
+        path.add(config);
+        if (solve(config, path, new HashSet<>())) {
+            return Optional.of(path);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Searches below a config for a solution, extending the path to it.
+     *
+     * @param currConfig config to search from, the last one of the path
+     * @param path configs from the initial config to currConfig
+     * @param visited configs reached before; all of them that are not on the path are dead ends
+     * @return true if the path now ends at a solution; false if currConfig is a dead end
+     */
+    private boolean solve(Configuration currConfig, List<Configuration> path, Set<Configuration> visited) {
+        if (currConfig.isSolution()) {
+            return true;
+        }
+        this.meter.expand(visited.size());
+        Collection<Configuration> successors = currConfig.getSuccessors();
+        int seen = 0;
+        for (Configuration childConfig : successors) {
+            ++this.numConfigs;
+            if (!visited.add(childConfig)) {
+                ++seen;
+                continue;
+            }
+            ++this.uniqueNumConfigs;
+            path.add(childConfig);
+            if (solve(childConfig, path, visited)) {
+                return true;
+            }
+            path.remove(path.size() - 1);
+        }
+        this.meter.generated(successors.size(), seen);
+        return false;
+    }
+
+    @Override
+    public void setBudgetMeter(BudgetMeter meter) {
+        this.meter = meter;
+    }
+
+    @Override
+    public int getNumConfigs() {
+        return numConfigs;
+    }
+
+    @Override
+    public int getUniqueNumConfigs() {
+        return uniqueNumConfigs;
+    }
+}
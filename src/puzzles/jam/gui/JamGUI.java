@@ -1,10 +1,12 @@
 package puzzles.jam.gui;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
@@ -14,6 +16,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.text.Font;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import puzzles.common.BackgroundSearch;
 import puzzles.common.Observer;
 import puzzles.hoppers.model.HoppersConfig;
 import puzzles.jam.model.Car;
@@ -50,6 +53,10 @@ public class JamGUI extends Application  implements Observer<JamModel, JamClient
     private int startRow;
     /** start column of the initially selected piece */
     private int startCol;
+    /** runs hints off the JavaFX thread */
+    private final BackgroundSearch hintSearch = new BackgroundSearch(Platform::runLater);
+    /** spins while a hint is being found */
+    private final ProgressIndicator progress = new ProgressIndicator();
 
     /** hashmap to relate char cell names to colors */
     private HashMap<Character, String> colors;
@@ -115,7 +122,7 @@ public class JamGUI extends Application  implements Observer<JamModel, JamClient
     public void init() throws IOException {
         loadColors();
         String filename = getParameters().getRaw().get(0);
-        this.model = new JamModel(new JamConfig(filename));
+        this.model = new JamModel(new JamConfig(filename), Platform::runLater);
         this.model.addObserver(this);
     }
 
@@ -172,10 +179,12 @@ public class JamGUI extends Application  implements Observer<JamModel, JamClient
         Button load = new Button("Load"); // make into fields?
         Button reset = new Button("Reset");
         Button hint = new Button("Hint");
+        Button cancel = new Button("Cancel");
 
         load.setFont(Font.font("Helvetica", 18));
         reset.setFont(Font.font("Helvetica", 18));
         hint.setFont(Font.font("Helvetica", 18));
+        cancel.setFont(Font.font("Helvetica", 18));
 
         load.setOnAction(event -> {
             FileChooser fileChooser = new FileChooser();
@@ -191,22 +200,53 @@ public class JamGUI extends Application  implements Observer<JamModel, JamClient
                         files[files.length - 3] + File.separator +
                                 files[files.length - 2] + File.separator +
                                 files[files.length - 1];
+                cancelHint();
                 this.model.load(filename);
             }
         });
         reset.setOnAction(event -> {
+            cancelHint();
             this.model.reset();
             this.isSelected = false;
         });
-        hint.setOnAction(event -> this.model.hint());
+        hint.setOnAction(event -> {
+            //a newer hint replaces one still being found
+            JamConfig from = this.model.getCurrentConfig();
+            this.progress.setVisible(true);
+            this.indicator.setText("Finding hint...");
+            this.hintSearch.submit(() -> this.model.findHint(from), next -> {
+                this.progress.setVisible(false);
+                this.model.applyHint(from, next);
+            }, failure -> {
+                this.progress.setVisible(false);
+                this.indicator.setText("Hint failed: " + failure);
+            });
+        });
+        cancel.setOnAction(event -> {
+            if (this.hintSearch.isRunning()) {
+                cancelHint();
+                this.indicator.setText("Hint cancelled");
+            }
+        });
+
+        this.progress.setPrefSize(30, 30);
+        this.progress.setVisible(false);
 
         buttons.getChildren().add(load);
         buttons.getChildren().add(reset);
         buttons.getChildren().add(hint);
+        buttons.getChildren().add(cancel);
+        buttons.getChildren().add(this.progress);
 
         return buttons;
     }
 
+    /** Stops any hint being found */
+    private void cancelHint(){
+        this.hintSearch.cancel();
+        this.progress.setVisible(false);
+    }
+
     /** Displays the message contained in the client data */
     private void displayMessage(){
         this.indicator.setText(this.model.getData().getMessage());
@@ -244,8 +284,18 @@ public class JamGUI extends Application  implements Observer<JamModel, JamClient
         this.stage.show();
     }
 
+    @Override
+    public void stop() {
+        this.hintSearch.shutdown();
+        this.model.shutdown();
+    }
+
     @Override
     public void update(JamModel jamModel, JamClientData jamClientData) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> update(jamModel, jamClientData));
+            return;
+        }
         displayMessage();
         GridPane buttonBoard = makeBoard();
         buttonBoard.setAlignment(Pos.CENTER);
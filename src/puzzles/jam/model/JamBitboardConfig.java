@@ -0,0 +1,384 @@
+package puzzles.jam.model;
+
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.MutableState;
+import puzzles.common.solver.SearchEvents;
+import puzzles.common.solver.SuccessorVisitor;
+import puzzles.common.solver.SuccessorsEvent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Represents a configuration of the Jam game as the offset of each car
+ * along its row or column plus a mask of the occupied cells. Everything
+ * else about the puzzle lives in a JamLayout shared by every config, so a
+ * move only copies the offsets and flips two bits of the mask. Displays,
+ * solves and moves its cars in the same order as JamConfig.
+ *
+ * @author Austin Couch
+ */
+public class JamBitboardConfig implements Configuration {
+
+    /** the parts of the puzzle shared by every config */
+    private final JamLayout layout;
+    /** starting row (vertical) or column (horizontal) of each car */
+    private final byte[] offsets;
+    /** cells covered by any car */
+    private final long occupied;
+
+    /**
+     * Creates the initial config for a Jam puzzle
+     *
+     * @param fileName file to be read that contains game data
+     * @throws IOException if error occurs while reading from the file
+     */
+    public JamBitboardConfig(String fileName) throws IOException {
+        this(new JamConfig(fileName));
+    }
+
+    /**
+     * Creates a config with the same cars in the same positions as a JamConfig
+     *
+     * @param config config to copy; its board must fit in a long
+     */
+    public JamBitboardConfig(JamConfig config) {
+        Car[] cars = config.getCars();
+        this.layout = config.getLayout();
+        if (!this.layout.fits()) {
+            throw new IllegalArgumentException("board has more than " + JamLayout.MAX_CELLS + " cells");
+        }
+        this.offsets = new byte[cars.length];
+        long cells = 0;
+        for (int i = 0; i < cars.length; i++) {
+            this.offsets[i] = (byte) (cars[i].isHorizontal() ? cars[i].getStartCol() : cars[i].getStartRow());
+            cells |= this.layout.getCarMask(i, this.offsets[i]);
+        }
+        this.occupied = cells;
+    }
+
+    /**
+     * Creates a config of the same puzzle
+     *
+     * @param layout the parts of the puzzle shared by every config
+     * @param offsets starting row (vertical) or column (horizontal) of each car
+     * @param occupied cells covered by any car
+     */
+    private JamBitboardConfig(JamLayout layout, byte[] offsets, long occupied) {
+        this.layout = layout;
+        this.offsets = offsets;
+        this.occupied = occupied;
+    }
+
+    /**
+     * Checks if the current config is the solution to the puzzle.
+     *
+     * @return true if X covers a cell of the last column; false otherwise
+     */
+    @Override
+    public boolean isSolution() {
+        int x = this.layout.getGoalCar();
+        return x != -1 && (this.layout.getCarMask(x, this.offsets[x]) & this.layout.getLastColumn()) != 0;
+    }
+
+    /**
+     * Generates a collection of possible successors given a
+     * current config of a puzzle.
+     *
+     * @return collection of configs
+     */
+    @Override
+    public Collection<Configuration> getSuccessors() {
+        ArrayList<Configuration> successors = new ArrayList<>();
+        forEachSuccessor(successors::add);
+        return successors;
+    }
+
+    /**
+     * Generates the possible successors given a current config of
+     * a puzzle one at a time, handing each to a visitor.
+     *
+     * @param visitor receives each successor, and returns false to stop
+     * @return false if the visitor stopped early; true otherwise
+     */
+    @Override
+    public boolean forEachSuccessor(SuccessorVisitor visitor) {
+        SuccessorsEvent event = SearchEvents.beginSuccessors();
+        int count = 0;
+        boolean going = true;
+        for (int i = 0; going && i < this.offsets.length; i++) {
+            int offset = this.offsets[i];
+            long back = this.layout.getBackCell(i, offset);
+            if (back != 0 && (this.occupied & back) == 0) {
+                long last = this.layout.getFrontCell(i, offset - 1);
+                going = visitor.visit(move(i, offset - 1, this.occupied ^ back ^ last));
+                ++count;
+            }
+            long front = this.layout.getFrontCell(i, offset);
+            if (going && front != 0 && (this.occupied & front) == 0) {
+                long first = this.layout.getBackCell(i, offset + 1);
+                going = visitor.visit(move(i, offset + 1, this.occupied ^ front ^ first));
+                ++count;
+            }
+        }
+        SearchEvents.endSuccessors(event, this, count);
+        return going;
+    }
+
+    /**
+     * Helper function to create the config with one car slid to a new offset
+     *
+     * @param car index of the car to move
+     * @param offset new offset of the car
+     * @param occupied cells covered by any car after the move
+     * @return the new config
+     */
+    private JamBitboardConfig move(int car, int offset, long occupied) {
+        byte[] moved = this.offsets.clone();
+        moved[car] = (byte) offset;
+        return new JamBitboardConfig(this.layout, moved, occupied);
+    }
+
+    /**
+     * Gets the ultimate goal config.
+     *
+     * @return Configuration that represents the goal
+     */
+    @Override
+    public Configuration getGoalConfig() {return null;}
+
+    /**
+     * Gets every placement of the cars where X covers a cell of the last
+     * column, no two cars overlap, and cars sharing a row or column are
+     * still in the order they are in now, in the same order as JamConfig
+     * gives them. Not all of them have to be reachable.
+     *
+     * @return collection of goal configs
+     */
+    @Override
+    public Collection<Configuration> getGoalConfigs() {
+        ArrayList<Configuration> goals = new ArrayList<>();
+        int goalCar = this.layout.getGoalCar();
+        long exit = -1L;
+        for (int offset = 0; offset <= this.layout.getMaxOffset(goalCar); offset++) {
+            long mask = this.layout.getCarMask(goalCar, offset);
+            if ((mask & this.layout.getLastColumn()) != 0) {
+                exit &= mask;
+            }
+        }
+        placeCars(new byte[this.offsets.length], 0, exit, goals);
+        return goals;
+    }
+
+    /**
+     * Helper function to try every offset of a car that fits around the cars
+     * already placed, then place the rest of the cars after it
+     *
+     * @param goal offsets of the cars placed so far
+     * @param car index of the car to place next
+     * @param used cells covered by the cars placed so far, and the cells
+     *             the goal car covers wherever it exits
+     * @param goals collection to add each complete goal config to
+     */
+    private void placeCars(byte[] goal, int car, long used, ArrayList<Configuration> goals) {
+        if (car == goal.length) {
+            goals.add(new JamBitboardConfig(this.layout, goal.clone(), used));
+            return;
+        }
+        for (int offset = 0; offset <= this.layout.getMaxOffset(car); offset++) {
+            long mask = this.layout.getCarMask(car, offset);
+            if (car == this.layout.getGoalCar() && (mask & this.layout.getLastColumn()) == 0) {
+                continue;
+            }
+            goal[car] = (byte) offset;
+            //the goal car's exit squares start out used, so no other car takes them
+            long free = car == this.layout.getGoalCar() ? used & ~mask : used;
+            if ((mask & free) == 0 && keepsOrder(goal, car)) {
+                placeCars(goal, car + 1, free | mask, goals);
+            }
+        }
+    }
+
+    /**
+     * Helper function to check that a newly placed car is on the same side of
+     * every placed car sharing its row or column as it is in this config
+     *
+     * @param goal offsets of the cars placed so far
+     * @param car index of the car just placed
+     * @return true if the order of cars along the car's line is unchanged
+     */
+    private boolean keepsOrder(byte[] goal, int car) {
+        for (int i = 0; i < car; i++) {
+            boolean sameLine = this.layout.isHorizontal(i) == this.layout.isHorizontal(car)
+                    && this.layout.getLine(i) == this.layout.getLine(car);
+            if (sameLine && (this.offsets[i] < this.offsets[car]) != (goal[i] < goal[car])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param car index of the car
+     * @return number of bits needed to store any offset of the car
+     */
+    private int getOffsetBits(int car) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(this.layout.getMaxOffset(car));
+    }
+
+    /**
+     * The offsets are packed into the state code in the same way as JamConfig packs them.
+     */
+    @Override
+    public int getStateCodeSize() {
+        int bits = 0;
+        for (int i = 0; i < this.offsets.length; i++) {
+            bits += getOffsetBits(i);
+        }
+        if (bits <= Long.SIZE) {
+            return Math.max(1, (bits + Byte.SIZE - 1) / Byte.SIZE);
+        }
+        return this.offsets.length;
+    }
+
+    @Override
+    public long encodeState() {
+        long code = 0;
+        int shift = 0;
+        for (int i = 0; i < this.offsets.length; i++) {
+            code |= (long) this.offsets[i] << shift;
+            shift += getOffsetBits(i);
+        }
+        return code;
+    }
+
+    @Override
+    public byte[] encodeStateBytes() {
+        return this.offsets.clone();
+    }
+
+    @Override
+    public Configuration decodeState(long code) {
+        byte[] decoded = new byte[this.offsets.length];
+        for (int i = 0; i < decoded.length; i++) {
+            int bits = getOffsetBits(i);
+            decoded[i] = (byte) (code & ((1L << bits) - 1));
+            code >>>= bits;
+        }
+        return decodeState(decoded);
+    }
+
+    @Override
+    public Configuration decodeState(byte[] code) {
+        long cells = 0;
+        for (int i = 0; i < code.length; i++) {
+            cells |= this.layout.getCarMask(i, code[i]);
+        }
+        return new JamBitboardConfig(this.layout, code.clone(), cells);
+    }
+
+    /**
+     * Every slide can be undone by sliding the same car back.
+     */
+    @Override
+    public boolean isReversible() {
+        return true;
+    }
+
+    @Override
+    public boolean hasMoveCodes() {
+        return true;
+    }
+
+    /**
+     * A move is coded as twice the index of the car slid, plus 1 if it slid forward.
+     */
+    @Override
+    public int describeMove(Configuration successor) {
+        byte[] moved = ((JamBitboardConfig) successor).offsets;
+        int car = 0;
+        while (car < moved.length - 1 && moved[car] == this.offsets[car]) {
+            car++;
+        }
+        return car * 2 + (moved[car] > this.offsets[car] ? 1 : 0);
+    }
+
+    @Override
+    public Configuration undoMove(int move) {
+        int car = move / 2;
+        int offset = this.offsets[car];
+        if (move % 2 == 1) {
+            long back = this.layout.getBackCell(car, offset);
+            return move(car, offset - 1, this.occupied ^ back ^ this.layout.getFrontCell(car, offset - 1));
+        }
+        long front = this.layout.getFrontCell(car, offset);
+        return move(car, offset + 1, this.occupied ^ front ^ this.layout.getBackCell(car, offset + 1));
+    }
+
+    @Override
+    public MutableState toMutableState() {
+        return new JamMutableState(this, this.layout, this.offsets);
+    }
+
+    @Override
+    public boolean equals(Object o){
+        boolean result = false;
+        if (o instanceof JamBitboardConfig){
+            JamBitboardConfig j = (JamBitboardConfig) o;
+            result = this.occupied == j.occupied && Arrays.equals(this.offsets, j.offsets);
+        }
+        return result;
+    }
+
+    @Override
+    public int hashCode(){return Arrays.hashCode(this.offsets);}
+
+    /**
+     * @return the current state of the configuration as a string
+     */
+    @Override
+    public String display() {
+        int numRows = this.layout.getNumRows();
+        int numCols = this.layout.getNumCols();
+        char[][] board = new char[numRows][numCols];
+        for (int row = 0; row < numRows; ++row) {
+            for (int col = 0; col < numCols; ++col) {
+                board[row][col] = JamConfig.BLANK;
+            }
+        }
+        for (int i = 0; i < this.offsets.length; i++) {
+            long mask = this.layout.getCarMask(i, this.offsets[i]);
+            while (mask != 0) {
+                int cell = Long.numberOfTrailingZeros(mask);
+                board[cell / numCols][cell % numCols] = this.layout.getName(i);
+                mask &= mask - 1;
+            }
+        }
+
+        StringBuilder output = new StringBuilder();
+        output.append("\n");
+        for (int i = 0; i < numRows; ++i) {
+            for (int j = 0; j < numCols; ++j) {
+                output.append(board[i][j]);
+                output.append("\s");
+            }
+            output.append("\n");
+        }
+        return output.toString();
+    }
+
+    /** @return the parts of the puzzle shared by every config */
+    public JamLayout getLayout() {
+        return this.layout;
+    }
+
+    /**
+     * @param car index of the car
+     * @return starting row (vertical) or column (horizontal) of the car
+     */
+    public int getOffset(int car) {
+        return this.offsets[car];
+    }
+}
@@ -2,6 +2,10 @@ package puzzles.jam.model;
 
 import puzzles.clock.ClockConfig;
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.MutableState;
+import puzzles.common.solver.SearchEvents;
+import puzzles.common.solver.SuccessorVisitor;
+import puzzles.common.solver.SuccessorsEvent;
 import puzzles.jam.solver.Jam;
 
 import java.io.BufferedReader;
@@ -18,17 +22,17 @@ import java.util.Collection;
  */
 public class JamConfig implements Configuration {
 
-    static final char BLANK = '.';
-    /** number of rows in the board */
-    private static int numRows;
-    /** number of columns in the board */
-    private static int numCols;
+    public static final char BLANK = '.';
+    /** the board size and cars, shared by every config of the puzzle */
+    private final JamLayout layout;
     /** 2D to represent the gameboard */
     private char[][] board;
     /** an arraylist containing all of the named cars to iterate through */
     private Car[] cars;
     /** a board configuration with that solves the puzzle */
     private char[][] goal;
+    /** Zobrist hash of the cars' offsets, the XOR of each car's key in the layout */
+    private long hash;
 
     /**
      * Creates the initial config for a Jam puzzle
@@ -37,12 +41,21 @@ public class JamConfig implements Configuration {
      * @throws IOException if error occurs while reading from the file
      */
     public JamConfig(String fileName) throws IOException {
+        this(new BufferedReader(new FileReader(fileName)));
+    }
 
-        BufferedReader in = new BufferedReader(new FileReader(fileName));
+    /**
+     * Creates the initial config for a Jam puzzle from game data in the
+     * same format as a puzzle file, then closes the reader
+     *
+     * @param in reader of the game data
+     * @throws IOException if error occurs while reading
+     */
+    public JamConfig(BufferedReader in) throws IOException {
         String[] fields = in.readLine().split("\\s+");
 
-        numRows = Integer.parseInt(fields[0]);
-        numCols = Integer.parseInt(fields[1]);
+        int numRows = Integer.parseInt(fields[0]);
+        int numCols = Integer.parseInt(fields[1]);
         this.board = new char[numRows][numCols];
 
         for (int i = 0; i < numRows; i++){
@@ -59,6 +72,7 @@ public class JamConfig implements Configuration {
                     Integer.parseInt(carData[2]), Integer.parseInt(carData[3]), Integer.parseInt(carData[4]));
         }
         in.close();
+        this.layout = new JamLayout(numRows, numCols, this.cars);
         this.reorganizeBoard();
     }
 
@@ -67,25 +81,65 @@ public class JamConfig implements Configuration {
      * @param other JamConfig to be copied to this config
      */
     public JamConfig(JamConfig other, Car[] cars){
-        this.board = new char[numRows][numCols];
+        this.layout = other.layout;
+        this.board = new char[getNumRows()][getNumCols()];
         this.cars = new Car[cars.length];
         for (int i = 0; i < cars.length; i++){
             this.cars[i] = new Car(cars[i].getName(), cars[i].getStartRow(), cars[i].getStartCol(),
                     cars[i].getEndRow(), cars[i].getEndCol());
         }
 
-        for(int row = 0; row < numRows; ++row) {
-            System.arraycopy(other.board[row], 0, this.board[row], 0, numCols);
+        for(int row = 0; row < getNumRows(); ++row) {
+            System.arraycopy(other.board[row], 0, this.board[row], 0, getNumCols());
         }
         this.reorganizeBoard();
     }
 
     /**
-     * Helper function to reorganize board representation of cars based on their start and end points
+     * Creates the config with one car slid one cell along its row or column.
+     * Only the cells at the two ends of the car change, and only the car's
+     * key changes in the hash, so the board is copied rather than rebuilt
+     * and the hash is updated rather than recomputed.
+     *
+     * @param other config the car is slid in
+     * @param index index of the car to slide
+     * @param step -1 to slide it back, 1 to slide it forward
+     */
+    private JamConfig(JamConfig other, int index, int step) {
+        this.layout = other.layout;
+        this.board = new char[getNumRows()][];
+        for (int row = 0; row < getNumRows(); ++row) {
+            this.board[row] = other.board[row].clone();
+        }
+        this.cars = new Car[other.cars.length];
+        for (int i = 0; i < other.cars.length; i++){
+            Car car = other.cars[i];
+            this.cars[i] = new Car(car.getName(), car.getStartRow(), car.getStartCol(), car.getEndRow(), car.getEndCol());
+        }
+
+        Car car = this.cars[index];
+        int offset = getOffset(car);
+        if (car.isHorizontal()) {
+            int row = car.getStartRow();
+            this.board[row][step > 0 ? car.getStartCol() : car.getEndCol()] = BLANK;
+            this.board[row][step > 0 ? car.getEndCol() + 1 : car.getStartCol() - 1] = car.getName();
+        } else {
+            int col = car.getStartCol();
+            this.board[step > 0 ? car.getStartRow() : car.getEndRow()][col] = BLANK;
+            this.board[step > 0 ? car.getEndRow() + 1 : car.getStartRow() - 1][col] = car.getName();
+        }
+        setOffset(car, offset + step);
+        this.hash = other.hash ^ this.layout.getZobristKey(index, offset)
+                ^ this.layout.getZobristKey(index, offset + step);
+    }
+
+    /**
+     * Helper function to reorganize board representation of cars based on their start and end points,
+     * which also recomputes the hash
      */
     public void reorganizeBoard(){
-        for (int i = 0; i < numRows; i++){
-            for (int j = 0; j < numCols; j++){
+        for (int i = 0; i < getNumRows(); i++){
+            for (int j = 0; j < getNumCols(); j++){
                 this.board[i][j] = BLANK;
             }
         }
@@ -108,6 +162,10 @@ public class JamConfig implements Configuration {
                 }
             }
         }
+        this.hash = 0;
+        for (int i = 0; i < this.cars.length; i++) {
+            this.hash ^= this.layout.getZobristKey(i, getOffset(this.cars[i]));
+        }
     }
 
 
@@ -119,8 +177,8 @@ public class JamConfig implements Configuration {
     @Override
     public boolean isSolution() {
         boolean result = false;
-        int col = numCols - 1;
-        for (int i = 0; i < numRows; i++){
+        int col = getNumCols() - 1;
+        for (int i = 0; i < getNumRows(); i++){
             if (this.board[i][col] == 'X'){
                 result = true;
                 break;
@@ -138,47 +196,57 @@ public class JamConfig implements Configuration {
     @Override
     public Collection<Configuration> getSuccessors() {
         ArrayList<Configuration> successors = new ArrayList<>();
+        forEachSuccessor(successors::add);
+        return successors;
+    }
+
+    /**
+     * Generates the possible successors given a current config of
+     * a puzzle one at a time, handing each to a visitor.
+     *
+     * @param visitor receives each successor, and returns false to stop
+     * @return false if the visitor stopped early; true otherwise
+     */
+    @Override
+    public boolean forEachSuccessor(SuccessorVisitor visitor) {
+        SuccessorsEvent event = SearchEvents.beginSuccessors();
+        int count = 0;
+        boolean going = true;
 
-        for (int i = 0; i < this.cars.length; i++){
-            JamConfig copy1 = new JamConfig(this, this.cars);
-            JamConfig copy2 = new JamConfig(this, this.cars);
-            //JamConfig comparisonCopy = new JamConfig(this, this.cars);
+        for (int i = 0; going && i < this.cars.length; i++){
+            JamConfig copy1 = null;
+            JamConfig copy2 = null;
             if (this.cars[i].isHorizontal()){
                 if (this.cars[i].getStartCol() != 0
                         && this.board[this.cars[i].getStartRow()][this.cars[i].getStartCol() - 1] == BLANK){
-
-                    copy1.cars[i].setStartCol(copy1.cars[i].getStartCol() - 1);
-                    copy1.cars[i].setEndCol(copy1.cars[i].getEndCol() - 1);
-                    copy1.reorganizeBoard();
-                    successors.add(copy1);
+                    copy1 = new JamConfig(this, i, -1);
                 }
-                if (this.cars[i].getEndCol() != numCols - 1
+                if (this.cars[i].getEndCol() != getNumCols() - 1
                         && this.board[this.cars[i].getStartRow()][this.cars[i].getEndCol() + 1] == BLANK) {
-
-                    copy2.cars[i].setStartCol(copy2.cars[i].getStartCol() + 1);
-                    copy2.cars[i].setEndCol(copy2.cars[i].getEndCol() + 1);
-                    copy2.reorganizeBoard();
-                    successors.add(copy2);
+                    copy2 = new JamConfig(this, i, 1);
                 }
             }
             else{
                 if (this.cars[i].getStartRow() != 0 &&
                         this.board[this.cars[i].getStartRow() - 1][this.cars[i].getStartCol()] == BLANK){
-                    copy1.cars[i].setStartRow(copy1.cars[i].getStartRow() - 1);
-                    copy1.cars[i].setEndRow(copy1.cars[i].getEndRow() - 1);
-                    copy1.reorganizeBoard();
-                    successors.add(copy1);
+                    copy1 = new JamConfig(this, i, -1);
                 }
-                if (this.cars[i].getEndRow() != numRows - 1 &&
+                if (this.cars[i].getEndRow() != getNumRows() - 1 &&
                         this.board[this.cars[i].getEndRow() + 1][this.cars[i].getStartCol()] == BLANK){
-                    copy2.cars[i].setStartRow(copy2.cars[i].getStartRow() + 1);
-                    copy2.cars[i].setEndRow(copy2.cars[i].getEndRow() + 1);
-                    copy2.reorganizeBoard();
-                    successors.add(copy2);
+                    copy2 = new JamConfig(this, i, 1);
                 }
             }
+            if (copy1 != null) {
+                going = visitor.visit(copy1);
+                ++count;
+            }
+            if (going && copy2 != null) {
+                going = visitor.visit(copy2);
+                ++count;
+            }
         }
-        return successors;
+        SearchEvents.endSuccessors(event, this, count);
+        return going;
     }
 
     /**
@@ -189,18 +257,248 @@ public class JamConfig implements Configuration {
     @Override
     public Configuration getGoalConfig() {return null;}
 
+    /**
+     * Helper function to get how far a car can slide along its own row or column
+     *
+     * @param car car to check
+     * @return largest starting row (vertical) or column (horizontal) the car can have
+     */
+    private int getMaxOffset(Car car) {
+        if (car.isHorizontal()) {
+            return getNumCols() - 1 - (car.getEndCol() - car.getStartCol());
+        }
+        return getNumRows() - 1 - (car.getEndRow() - car.getStartRow());
+    }
+
+    /**
+     * @param car car to check
+     * @return starting row (vertical) or column (horizontal) of the car
+     */
+    private static int getOffset(Car car) {
+        return car.isHorizontal() ? car.getStartCol() : car.getStartRow();
+    }
+
+    /**
+     * Helper function to slide a car so it starts at the given offset along its row or column
+     *
+     * @param car car to move
+     * @param offset new starting row (vertical) or column (horizontal) of the car
+     */
+    private static void setOffset(Car car, int offset) {
+        if (car.isHorizontal()) {
+            car.setEndCol(car.getEndCol() - car.getStartCol() + offset);
+            car.setStartCol(offset);
+        } else {
+            car.setEndRow(car.getEndRow() - car.getStartRow() + offset);
+            car.setStartRow(offset);
+        }
+    }
+
+    /**
+     * @param car car to check
+     * @return number of bits needed to store any offset of the car
+     */
+    private int getOffsetBits(Car car) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(getMaxOffset(car));
+    }
+
+    /**
+     * Only the offset of each car along its row or column changes between configs,
+     * so the cars' offsets are packed into the state code in order.
+     */
+    @Override
+    public int getStateCodeSize() {
+        int bits = 0;
+        for (Car car : this.cars) {
+            bits += getOffsetBits(car);
+        }
+        if (bits <= Long.SIZE) {
+            return Math.max(1, (bits + Byte.SIZE - 1) / Byte.SIZE);
+        }
+        return this.cars.length;
+    }
+
+    @Override
+    public long encodeState() {
+        long code = 0;
+        int shift = 0;
+        for (Car car : this.cars) {
+            code |= (long) getOffset(car) << shift;
+            shift += getOffsetBits(car);
+        }
+        return code;
+    }
+
+    @Override
+    public byte[] encodeStateBytes() {
+        byte[] code = new byte[this.cars.length];
+        for (int i = 0; i < this.cars.length; i++) {
+            code[i] = (byte) getOffset(this.cars[i]);
+        }
+        return code;
+    }
+
+    @Override
+    public Configuration decodeState(long code) {
+        JamConfig config = new JamConfig(this, this.cars);
+        for (Car car : config.cars) {
+            int bits = getOffsetBits(car);
+            setOffset(car, (int) (code & ((1L << bits) - 1)));
+            code >>>= bits;
+        }
+        config.reorganizeBoard();
+        return config;
+    }
+
+    @Override
+    public Configuration decodeState(byte[] code) {
+        JamConfig config = new JamConfig(this, this.cars);
+        for (int i = 0; i < code.length; i++) {
+            setOffset(config.cars[i], code[i] & 0xFF);
+        }
+        config.reorganizeBoard();
+        return config;
+    }
+
+    /**
+     * Every slide can be undone by sliding the same car back.
+     */
+    @Override
+    public boolean isReversible() {
+        return true;
+    }
+
+    @Override
+    public boolean hasMoveCodes() {
+        return true;
+    }
+
+    /**
+     * A move is coded as twice the index of the car slid, plus 1 if it slid forward.
+     */
+    @Override
+    public int describeMove(Configuration successor) {
+        Car[] moved = ((JamConfig) successor).cars;
+        int car = 0;
+        while (car < moved.length - 1 && getOffset(moved[car]) == getOffset(this.cars[car])) {
+            car++;
+        }
+        return car * 2 + (getOffset(moved[car]) > getOffset(this.cars[car]) ? 1 : 0);
+    }
+
+    @Override
+    public Configuration undoMove(int move) {
+        return new JamConfig(this, move / 2, move % 2 == 1 ? -1 : 1);
+    }
+
+    @Override
+    public MutableState toMutableState() {
+        return new JamMutableState(this, this.layout, encodeStateBytes());
+    }
+
+    /**
+     * Gets every placement of the cars where X has reached the last column,
+     * no two cars overlap, and cars sharing a row or column are still in the
+     * order they are in now, since cars can never pass each other.
+     * Not all of them have to be reachable.
+     *
+     * @return collection of goal configs
+     */
+    @Override
+    public Collection<Configuration> getGoalConfigs() {
+        ArrayList<Configuration> goals = new ArrayList<>();
+        JamConfig goal = new JamConfig(this, this.cars);
+        placeCars(goal, 0, new boolean[getNumRows()][getNumCols()], goals);
+        return goals;
+    }
+
+    /**
+     * Helper function to try every offset of a car that fits around the cars
+     * already placed, then place the rest of the cars after it
+     *
+     * @param goal config whose cars are being placed
+     * @param index index of the car to place next
+     * @param used cells taken by the cars placed so far
+     * @param goals collection to add each complete goal config to
+     */
+    private void placeCars(JamConfig goal, int index, boolean[][] used, ArrayList<Configuration> goals) {
+        if (index == goal.cars.length) {
+            goals.add(new JamConfig(goal, goal.cars));
+            return;
+        }
+        Car car = goal.cars[index];
+        for (int offset = 0; offset <= getMaxOffset(car); offset++) {
+            setOffset(car, offset);
+            if (car.getName() == 'X' && car.getEndCol() != getNumCols() - 1) {
+                continue;
+            }
+            if (keepsOrder(goal, index) && markCar(car, used, true)) {
+                placeCars(goal, index + 1, used, goals);
+                markCar(car, used, false);
+            }
+        }
+    }
+
+    /**
+     * Helper function to check that a newly placed car is on the same side of
+     * every placed car sharing its row or column as it is in this config
+     *
+     * @param goal config whose cars are being placed
+     * @param index index of the car just placed
+     * @return true if the order of cars along the car's line is unchanged
+     */
+    private boolean keepsOrder(JamConfig goal, int index) {
+        Car car = this.cars[index];
+        for (int i = 0; i < index; i++) {
+            Car other = this.cars[i];
+            boolean sameLine = car.isHorizontal()
+                    ? other.isHorizontal() && other.getStartRow() == car.getStartRow()
+                    : !other.isHorizontal() && other.getStartCol() == car.getStartCol();
+            if (sameLine && (getOffset(other) < getOffset(car))
+                    != (getOffset(goal.cars[i]) < getOffset(goal.cars[index]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Helper function to mark or unmark the cells a car covers
+     *
+     * @param car car to mark
+     * @param used cells taken by placed cars
+     * @param taken true to mark the car's cells, false to clear them
+     * @return false if the car could not be marked because a cell was already taken
+     */
+    private static boolean markCar(Car car, boolean[][] used, boolean taken) {
+        for (int row = car.getStartRow(); row <= car.getEndRow(); row++) {
+            for (int col = car.getStartCol(); col <= car.getEndCol(); col++) {
+                if (taken && used[row][col]) {
+                    return false;
+                }
+            }
+        }
+        for (int row = car.getStartRow(); row <= car.getEndRow(); row++) {
+            for (int col = car.getStartCol(); col <= car.getEndCol(); col++) {
+                used[row][col] = taken;
+            }
+        }
+        return true;
+    }
+
     @Override
     public boolean equals(Object o){
         boolean result = false;
         if (o instanceof JamConfig){
             JamConfig j = (JamConfig) o;
-            result = Arrays.deepEquals(this.board, j.board);
+            //configs with different hashes can't be equal, so most unequal boards are never compared
+            result = this.hash == j.hash && Arrays.deepEquals(this.board, j.board);
         }
         return result;
     }
 
     @Override
-    public int hashCode(){return Arrays.deepHashCode(this.board);}
+    public int hashCode(){return Long.hashCode(this.hash);}
 
     /**
      * @return the current state of the configuration as a string
@@ -209,8 +507,8 @@ public class JamConfig implements Configuration {
     public String display() {
         StringBuilder output = new StringBuilder();
         output.append("\n");
-        for (int i = 0; i < numRows; ++i) {
-            for (int j = 0; j < numCols; ++j) {
+        for (int i = 0; i < getNumRows(); ++i) {
+            for (int j = 0; j < getNumCols(); ++j) {
                 output.append(this.board[i][j]);
                 output.append("\s");
             }
@@ -231,11 +529,16 @@ public class JamConfig implements Configuration {
 
     /** public accessor method to return the number of rows for use in JamModel */
     public int getNumRows(){
-        return numRows;
+        return this.layout.getNumRows();
     }
 
     /** public accessor method to return the number of columns for use in JamModel */
     public int getNumCols(){
-        return numCols;
+        return this.layout.getNumCols();
+    }
+
+    /** public accessor method to return the parts of the puzzle shared by every config */
+    public JamLayout getLayout(){
+        return this.layout;
     }
 }
@@ -0,0 +1,251 @@
+package puzzles.jam.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Everything about a Jam puzzle that never changes between configs: the
+ * size of the board and each car's name, direction, line and length.
+ * Every config of a puzzle shares one layout, so puzzles of different
+ * sizes can be loaded and solved side by side.
+ * Boards of at most 64 cells also get the precomputed cell masks that
+ * JamBitboardConfig moves cars with. Cell (row, col) is bit
+ * row * numCols + col of a mask.
+ * Every car also gets a random Zobrist key for each of its offsets, which
+ * JamConfig XORs together into its hash.
+ *
+ * @author Austin Couch
+ */
+public class JamLayout {
+    /** largest number of cells a board can have to fit in a long */
+    public static final int MAX_CELLS = Long.SIZE;
+    /** seed of the Zobrist keys, fixed so a config hashes the same on every run */
+    private static final long ZOBRIST_SEED = 0x6a616d4c61796f75L;
+
+    /** number of rows in the board */
+    private final int numRows;
+    /** number of columns in the board */
+    private final int numCols;
+    /** the unique name char of each car */
+    private final char[] names;
+    /** whether each car moves horizontally */
+    private final boolean[] horizontal;
+    /** row (horizontal) or column (vertical) each car moves along */
+    private final int[] lines;
+    /** number of cells each car covers */
+    private final int[] lengths;
+    /** index of the X car, or -1 if there is none */
+    private final int goalCar;
+    /** cells each car covers at each of its offsets, or null if the board doesn't fit */
+    private final long[][] carMasks;
+    /** cell just behind each car at each offset, or 0 at offset 0, or null if the board doesn't fit */
+    private final long[][] backCells;
+    /** cell just in front of each car at each offset, or 0 at its largest offset, or null if the board doesn't fit */
+    private final long[][] frontCells;
+    /** cells of the last column, or 0 if the board doesn't fit */
+    private final long lastColumn;
+    /** random key of each car at each offset */
+    private final long[][] zobristKeys;
+
+    /**
+     * Creates the layout of a puzzle from its cars in their starting positions
+     *
+     * @param numRows number of rows in the board
+     * @param numCols number of columns in the board
+     * @param cars cars of the puzzle
+     */
+    public JamLayout(int numRows, int numCols, Car[] cars) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.names = new char[cars.length];
+        this.horizontal = new boolean[cars.length];
+        this.lines = new int[cars.length];
+        this.lengths = new int[cars.length];
+        boolean masks = fits();
+        this.carMasks = masks ? new long[cars.length][] : null;
+        this.backCells = masks ? new long[cars.length][] : null;
+        this.frontCells = masks ? new long[cars.length][] : null;
+        this.zobristKeys = new long[cars.length][];
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED);
+
+        int x = -1;
+        for (int i = 0; i < cars.length; i++) {
+            Car car = cars[i];
+            this.names[i] = car.getName();
+            this.horizontal[i] = car.isHorizontal();
+            if (car.isHorizontal()) {
+                this.lines[i] = car.getStartRow();
+                this.lengths[i] = car.getEndCol() - car.getStartCol() + 1;
+            } else {
+                this.lines[i] = car.getStartCol();
+                this.lengths[i] = car.getEndRow() - car.getStartRow() + 1;
+            }
+            if (car.getName() == 'X' && x == -1) {
+                x = i;
+            }
+            this.zobristKeys[i] = random.longs(getMaxOffset(i) + 1L).toArray();
+            if (!masks) {
+                continue;
+            }
+
+            int maxOffset = getMaxOffset(i);
+            this.carMasks[i] = new long[maxOffset + 1];
+            this.backCells[i] = new long[maxOffset + 1];
+            this.frontCells[i] = new long[maxOffset + 1];
+            for (int offset = 0; offset <= maxOffset; offset++) {
+                for (int k = 0; k < this.lengths[i]; k++) {
+                    this.carMasks[i][offset] |= cell(i, offset + k);
+                }
+                if (offset > 0) {
+                    this.backCells[i][offset] = cell(i, offset - 1);
+                }
+                if (offset < maxOffset) {
+                    this.frontCells[i][offset] = cell(i, offset + this.lengths[i]);
+                }
+            }
+        }
+        this.goalCar = x;
+
+        long column = 0;
+        for (int row = 0; masks && row < numRows; row++) {
+            column |= 1L << (row * numCols + numCols - 1);
+        }
+        this.lastColumn = column;
+    }
+
+    /**
+     * @param numRows number of rows in the board
+     * @param numCols number of columns in the board
+     * @return true if every cell of the board fits in a mask
+     */
+    public static boolean fits(int numRows, int numCols) {
+        return numRows * numCols <= MAX_CELLS;
+    }
+
+    /**
+     * @return true if every cell of the board fits in a mask, so the
+     * layout has cell masks and its configs can be JamBitboardConfigs
+     */
+    public boolean fits() {
+        return fits(this.numRows, this.numCols);
+    }
+
+    /**
+     * Helper function to get the mask of a single cell along a car's line
+     *
+     * @param car index of the car
+     * @param position row (vertical) or column (horizontal) along the car's line
+     * @return mask with only that cell set
+     */
+    private long cell(int car, int position) {
+        return this.horizontal[car]
+                ? 1L << (this.lines[car] * this.numCols + position)
+                : 1L << (position * this.numCols + this.lines[car]);
+    }
+
+    /**
+     * @param car index of the car
+     * @return largest starting row (vertical) or column (horizontal) the car can have
+     */
+    public int getMaxOffset(int car) {
+        return (this.horizontal[car] ? this.numCols : this.numRows) - this.lengths[car];
+    }
+
+    /**
+     * @param car index of the car
+     * @return true if the car moves horizontally; false if it moves vertically
+     */
+    public boolean isHorizontal(int car) {
+        return this.horizontal[car];
+    }
+
+    /**
+     * @param car index of the car
+     * @return row (horizontal) or column (vertical) the car moves along
+     */
+    public int getLine(int car) {
+        return this.lines[car];
+    }
+
+    /**
+     * @param car index of the car
+     * @return number of cells the car covers
+     */
+    public int getLength(int car) {
+        return this.lengths[car];
+    }
+
+    /**
+     * Only for boards that fit.
+     *
+     * @param car index of the car
+     * @param offset starting row (vertical) or column (horizontal) of the car
+     * @return cells the car covers at that offset
+     */
+    public long getCarMask(int car, int offset) {
+        return this.carMasks[car][offset];
+    }
+
+    /**
+     * Only for boards that fit.
+     *
+     * @param car index of the car
+     * @param offset starting row (vertical) or column (horizontal) of the car
+     * @return cell the car needs free to move back one, or 0 if it can't move back
+     */
+    public long getBackCell(int car, int offset) {
+        return this.backCells[car][offset];
+    }
+
+    /**
+     * Only for boards that fit.
+     *
+     * @param car index of the car
+     * @param offset starting row (vertical) or column (horizontal) of the car
+     * @return cell the car needs free to move forward one, or 0 if it can't move forward
+     */
+    public long getFrontCell(int car, int offset) {
+        return this.frontCells[car][offset];
+    }
+
+    /**
+     * @param car index of the car
+     * @param offset starting row (vertical) or column (horizontal) of the car
+     * @return random key of the car at that offset
+     */
+    public long getZobristKey(int car, int offset) {
+        return this.zobristKeys[car][offset];
+    }
+
+    /** @return cells of the last column, or 0 if the board doesn't fit */
+    public long getLastColumn() {
+        return this.lastColumn;
+    }
+
+    /** @return index of the X car, or -1 if there is none */
+    public int getGoalCar() {
+        return this.goalCar;
+    }
+
+    /** @return number of cars */
+    public int getNumCars() {
+        return this.names.length;
+    }
+
+    /**
+     * @param car index of the car
+     * @return the unique name char of the car
+     */
+    public char getName(int car) {
+        return this.names[car];
+    }
+
+    /** @return number of rows in the board */
+    public int getNumRows() {
+        return this.numRows;
+    }
+
+    /** @return number of columns in the board */
+    public int getNumCols() {
+        return this.numCols;
+    }
+}
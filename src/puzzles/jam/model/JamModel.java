@@ -1,12 +1,16 @@
 package puzzles.jam.model;
 
+import puzzles.common.BackgroundSearch;
 import puzzles.common.Observer;
+import puzzles.common.solver.BFSEngine;
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.DistanceTable;
 import puzzles.common.solver.Solver;
 import puzzles.jam.solver.Jam;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Executor;
 
 /**
  * The model in the MVC design pattern for the Jam puzzle.
@@ -23,15 +27,65 @@ public class JamModel {
     private JamConfig currentConfig;
     /** data to be passed to the view */
     private JamClientData data;
+    /** distance to the exit of every config reachable from the initial config, or null while it is being built */
+    private volatile DistanceTable distances;
+    /** builds the distance table off the view's thread, or null if it is built on the calling thread */
+    private final BackgroundSearch tableBuilder;
 
     /** Creates model with the initial config unmodified from loading and creates a
-     * current configuration to be modified later
+     * current configuration to be modified later. The distance table is built
+     * before the constructor returns.
      *
      * @param config current config to be modified later
      */
     public JamModel(JamConfig config){
+        this(config, null);
+    }
+
+    /** Creates model with the initial config unmodified from loading and creates a
+     * current configuration to be modified later. The distance table of each
+     * puzzle loaded is built on a background thread, so a view is never held
+     * up by it, and hints are found by BFS until it is ready.
+     *
+     * @param config current config to be modified later
+     * @param callbacks executor the view runs its code on, such as Platform::runLater,
+     *                  or null to build the table on the calling thread
+     */
+    public JamModel(JamConfig config, Executor callbacks){
         this.initialConfig = config;
         this.currentConfig = config;
+        this.tableBuilder = callbacks == null ? null : new BackgroundSearch(callbacks);
+        startDistances(config);
+    }
+
+    /**
+     * Helper function to replace the distance table with one for a newly loaded puzzle
+     *
+     * @param config the initial config
+     */
+    private void startDistances(JamConfig config){
+        if (this.tableBuilder == null){
+            this.distances = buildDistances(config);
+            return;
+        }
+        this.distances = null;
+        this.tableBuilder.submit(() -> buildDistances(config), table -> this.distances = table);
+    }
+
+    /**
+     * Helper function to work out the distance to the exit of every config the
+     * user can reach, so hints never have to search. Every move stays in the
+     * same set of reachable configs, so one table serves until the next load.
+     *
+     * @param config the initial config
+     * @return the table of distances
+     */
+    private static DistanceTable buildDistances(JamConfig config){
+        //the bitboard configs use the same state codes and are much faster to expand
+        if (config.getLayout().fits()){
+            return new DistanceTable(new JamBitboardConfig(config));
+        }
+        return new DistanceTable(config);
     }
 
     /**
@@ -52,24 +106,50 @@ public class JamModel {
      *  If no solution, display so
      */
     public void hint(){
-        Solver solver = new Solver();
-        List<Configuration> path = new ArrayList<>();
-        Optional<List<Configuration>> solved = solver.solve(this.currentConfig);
+        JamConfig from = this.currentConfig;
+        applyHint(from, findHint(from));
+    }
+
+    /**
+     * Finds the next move towards the exit without changing the model, so it can
+     * run on a background thread
+     *
+     * @param config config to find the next move from
+     * @return the config after the next move, config itself if it is already solved,
+     * or null if there is no solution
+     */
+    public JamConfig findHint(JamConfig config){
+        if (config.isSolution()){
+            return config;
+        }
+        DistanceTable table = this.distances;
+        if (table == null){
+            //the table is still being built, so search for this hint
+            Optional<List<Configuration>> solved = new Solver(new BFSEngine()).solve(config);
+            return solved.map(path -> (JamConfig) path.get(1)).orElse(null);
+        }
+        return (JamConfig) table.getNextStep(config);
+    }
 
-        if (solved.isPresent()){
-            path = solved.get();
+    /**
+     * Makes a move found by findHint, unless the board has changed since the hint was asked for
+     *
+     * @param from config the hint was found from
+     * @param next result of findHint
+     */
+    public void applyHint(JamConfig from, JamConfig next){
+        if (from != this.currentConfig){
+            sendDataAndAlert("Board changed, hint discarded\n");
         }
-        else{
+        else if (next == null){
             sendDataAndAlert("No solution for this puzzle\n");
-            return;
         }
-
-        if(path.size() > 1){
-            this.currentConfig = (JamConfig) path.get(1);
-            sendDataAndAlert("Performed next step\n");
+        else if (next == from){
+            sendDataAndAlert("Puzzle already solved\n");
         }
         else{
-            sendDataAndAlert("Puzzle already solved\n");
+            this.currentConfig = next;
+            sendDataAndAlert("Performed next step\n");
         }
     }
 
@@ -83,6 +163,7 @@ public class JamModel {
             JamConfig config = new JamConfig(filename);
             this.initialConfig = config;
             this.currentConfig = config;
+            startDistances(config);
             sendDataAndAlert("Loaded " + filename + "\n");
         }
         catch (IOException e){
@@ -192,6 +273,15 @@ public class JamModel {
         sendDataAndAlert("Board reset\n");
     }
 
+    /**
+     * Stops building the distance table, for when the view closes
+     */
+    public void shutdown(){
+        if (this.tableBuilder != null){
+            this.tableBuilder.shutdown();
+        }
+    }
+
     /**
      * The view calls this to add itself as an observer.
      *
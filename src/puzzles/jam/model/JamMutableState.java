@@ -0,0 +1,139 @@
+package puzzles.jam.model;
+
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.MutableState;
+
+/**
+ * A Jam board that cars are slid on in place: the offset of each car and
+ * which cells are covered, plus the Zobrist hash of the offsets, the same
+ * one JamConfig keeps. A move is coded as twice the index of the car
+ * slid, plus 1 if it slides forward, the same as JamConfig.describeMove,
+ * and the cars are tried in the same order as JamConfig generates them.
+ *
+ * @author Austin Couch
+ */
+class JamMutableState implements MutableState {
+
+    /** the parts of the puzzle shared by every config */
+    private final JamLayout layout;
+    /** config of the puzzle that makes the configs of the states */
+    private final Configuration template;
+    /** starting row (vertical) or column (horizontal) of each car */
+    private final byte[] offsets;
+    /** whether each cell is covered by a car, in row major order */
+    private final boolean[] covered;
+    /** Zobrist hash of the cars' offsets */
+    private long hash;
+
+    /**
+     * Creates a state with the cars where they are in a config.
+     *
+     * @param template config to start from, which also makes the configs of the states
+     * @param layout the parts of the puzzle shared by every config
+     * @param offsets starting row (vertical) or column (horizontal) of each car
+     */
+    JamMutableState(Configuration template, JamLayout layout, byte[] offsets) {
+        this.layout = layout;
+        this.template = template;
+        this.offsets = offsets.clone();
+        this.covered = new boolean[layout.getNumRows() * layout.getNumCols()];
+        for (int car = 0; car < offsets.length; car++) {
+            for (int k = 0; k < layout.getLength(car); k++) {
+                this.covered[cell(car, offsets[car] + k)] = true;
+            }
+            this.hash ^= layout.getZobristKey(car, offsets[car]);
+        }
+    }
+
+    /**
+     * @param car index of the car
+     * @param position row (vertical) or column (horizontal) along the car's line
+     * @return index of the cell at that position
+     */
+    private int cell(int car, int position) {
+        return this.layout.isHorizontal(car)
+                ? this.layout.getLine(car) * this.layout.getNumCols() + position
+                : position * this.layout.getNumCols() + this.layout.getLine(car);
+    }
+
+    @Override
+    public int getMaxMoves() {
+        return 2 * this.offsets.length;
+    }
+
+    @Override
+    public int getMoves(int[] moves) {
+        int count = 0;
+        for (int car = 0; car < this.offsets.length; car++) {
+            int offset = this.offsets[car];
+            if (offset > 0 && !this.covered[cell(car, offset - 1)]) {
+                moves[count++] = car * 2;
+            }
+            if (offset < this.layout.getMaxOffset(car)
+                    && !this.covered[cell(car, offset + this.layout.getLength(car))]) {
+                moves[count++] = car * 2 + 1;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void makeMove(int move) {
+        int car = move / 2;
+        int offset = this.offsets[car];
+        int length = this.layout.getLength(car);
+        int step = move % 2 == 1 ? 1 : -1;
+        if (step > 0) {
+            this.covered[cell(car, offset)] = false;
+            this.covered[cell(car, offset + length)] = true;
+        } else {
+            this.covered[cell(car, offset + length - 1)] = false;
+            this.covered[cell(car, offset - 1)] = true;
+        }
+        this.offsets[car] = (byte) (offset + step);
+        this.hash ^= this.layout.getZobristKey(car, offset) ^ this.layout.getZobristKey(car, offset + step);
+    }
+
+    /**
+     * Every slide is taken back by sliding the same car the other way.
+     */
+    @Override
+    public void unmakeMove(int move) {
+        makeMove(move ^ 1);
+    }
+
+    /**
+     * @return true if X covers a cell of the last column; false otherwise
+     */
+    @Override
+    public boolean isSolution() {
+        int x = this.layout.getGoalCar();
+        if (x == -1) {
+            return false;
+        }
+        int lastCol = this.layout.getNumCols() - 1;
+        return this.layout.isHorizontal(x)
+                ? this.offsets[x] + this.layout.getLength(x) - 1 == lastCol
+                : this.layout.getLine(x) == lastCol;
+    }
+
+    @Override
+    public int getStateCodeSize() {
+        return this.offsets.length;
+    }
+
+    @Override
+    public void encodeState(byte[] code, int offset) {
+        System.arraycopy(this.offsets, 0, code, offset, this.offsets.length);
+    }
+
+    @Override
+    public long getHash() {
+        return this.hash;
+    }
+
+    @Override
+    public Configuration toConfiguration() {
+        return this.template.decodeState(this.offsets);
+    }
+}
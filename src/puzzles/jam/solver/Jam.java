@@ -1,9 +1,13 @@
 package puzzles.jam.solver;
 
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.ParallelBFSEngine;
 import puzzles.common.solver.Solver;
+import puzzles.jam.model.JamBitboardConfig;
 import puzzles.jam.model.JamConfig;
 
+import java.io.BufferedReader;
+import java.io.FileReader;
 import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
@@ -16,14 +20,16 @@ import java.util.Optional;
  */
 public class Jam {
     public static void main(String[] args) {
-        if (args.length != 1) {
-            System.out.println("Usage: java Jam filename");
+        if (args.length != 1 && args.length != 2) {
+            System.out.println("Usage: java Jam filename [threads]");
         }
         else{
             try{
-                Solver solver = new Solver();
+                Solver solver = args.length == 2
+                        ? new Solver(new ParallelBFSEngine(Integer.parseInt(args[1])))
+                        : new Solver();
                 List<Configuration> path = new LinkedList<>();
-                JamConfig start = new JamConfig(args[0]);
+                Configuration start = load(args[0]);
                 Optional<List<Configuration>> solved = solver.solve(start);
                 if (solved.isPresent()){
                     path = solved.get();
@@ -36,4 +42,30 @@ public class Jam {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Loads a Jam puzzle file the way it is solved from the command line.
+     *
+     * @param filename the puzzle file
+     * @return the initial config
+     * @throws IOException if the file can't be read
+     */
+    public static Configuration load(String filename) throws IOException {
+        return load(new BufferedReader(new FileReader(filename)));
+    }
+
+    /**
+     * Loads a Jam puzzle the way it is solved from the command line.
+     *
+     * @param in reader of the puzzle, in the format of a puzzle file; it is closed
+     * @return the initial config
+     * @throws IOException if the puzzle can't be read
+     */
+    public static Configuration load(BufferedReader in) throws IOException {
+        JamConfig jam = new JamConfig(in);
+        //boards that fit in a long are solved on the much cheaper bitboard configs
+        return jam.getLayout().fits()
+                ? new JamBitboardConfig(jam)
+                : jam;
+    }
+}
\ No newline at end of file
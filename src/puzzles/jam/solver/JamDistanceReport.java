@@ -0,0 +1,48 @@
+package puzzles.jam.solver;
+
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.DistanceTable;
+import puzzles.jam.model.JamBitboardConfig;
+import puzzles.jam.model.JamConfig;
+
+import java.io.IOException;
+
+/**
+ * Builds the distance table JamModel uses for hints on Jam puzzle files,
+ * and prints how many configs are reachable, how far the initial config
+ * is from the exit, how long the table took to build and how much memory
+ * it takes. It then follows the table's hints from the initial config to
+ * the exit and prints the average time per hint.
+ *
+ * @author Austin Couch
+ */
+public class JamDistanceReport {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java JamDistanceReport filename ...");
+            return;
+        }
+        System.out.printf("%-22s %10s %6s %10s %12s %10s%n",
+                "File", "States", "Moves", "Build (ms)", "Memory (KB)", "Hint (us)");
+        for (String filename : args) {
+            JamConfig config = new JamConfig(filename);
+            long start = System.nanoTime();
+            DistanceTable distances = new DistanceTable(new JamBitboardConfig(config));
+            long buildMillis = (System.nanoTime() - start) / 1_000_000;
+
+            int moves = distances.getDistance(config);
+            long hintStart = System.nanoTime();
+            Configuration current = config;
+            for (int hint = 0; hint < moves; ++hint) {
+                current = distances.getNextStep(current);
+            }
+            String hintMicros = moves > 0
+                    ? String.format("%.1f", (System.nanoTime() - hintStart) / 1_000.0 / moves)
+                    : "-";
+
+            System.out.printf("%-22s %10d %6s %10d %12d %10s%n", filename, distances.size(),
+                    moves == DistanceTable.NO_PATH ? "-" : Integer.toString(moves), buildMillis,
+                    distances.getMemoryBytes() / 1024, hintMicros);
+        }
+    }
+}
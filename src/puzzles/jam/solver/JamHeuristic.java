@@ -0,0 +1,85 @@
+package puzzles.jam.solver;
+
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.Heuristic;
+import puzzles.jam.model.Car;
+import puzzles.jam.model.JamBitboardConfig;
+import puzzles.jam.model.JamConfig;
+import puzzles.jam.model.JamLayout;
+
+/**
+ * Estimates the moves left in a Jam puzzle as the number of spaces between
+ * car X and the right wall, plus the number of cars standing in those spaces.
+ * X has to slide once per space and every car in its way has to move at
+ * least once, so the estimate never overestimates. Each move changes it by
+ * at most one, which also makes it consistent. Works on both JamConfig
+ * and JamBitboardConfig.
+ *
+ * @author Austin Couch
+ */
+public class JamHeuristic implements Heuristic<Configuration> {
+
+    @Override
+    public int estimate(Configuration config) {
+        if (config instanceof JamBitboardConfig bitboard) {
+            return estimate(bitboard);
+        }
+        if (config instanceof JamConfig jam) {
+            return estimate(jam);
+        }
+        throw new IllegalArgumentException("JamHeuristic only estimates Jam puzzles");
+    }
+
+    /**
+     * @param config config to estimate
+     * @return spaces right of X plus the cars in them
+     */
+    private static int estimate(JamBitboardConfig config) {
+        JamLayout layout = config.getLayout();
+        int x = layout.getGoalCar();
+        if (x < 0 || !layout.isHorizontal(x)) {
+            return 0;
+        }
+
+        long spaces = 0;
+        for (int offset = config.getOffset(x); offset < layout.getMaxOffset(x); offset++) {
+            spaces |= layout.getFrontCell(x, offset);
+        }
+        int estimate = Long.bitCount(spaces);
+        for (int car = 0; car < layout.getNumCars(); car++) {
+            if ((layout.getCarMask(car, config.getOffset(car)) & spaces) != 0) {
+                estimate++;
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * @param config config to estimate
+     * @return spaces right of X plus the cars in them
+     */
+    private static int estimate(JamConfig config) {
+        Car x = null;
+        for (Car car : config.getCars()) {
+            if (car.getName() == 'X') {
+                x = car;
+            }
+        }
+        if (x == null || !x.isHorizontal()) {
+            return 0;
+        }
+
+        char[][] board = config.getBoard();
+        int row = x.getStartRow();
+        int estimate = config.getNumCols() - 1 - x.getEndCol();
+        char previous = 'X';
+        for (int col = x.getEndCol() + 1; col < config.getNumCols(); col++) {
+            char space = board[row][col];
+            if (space != JamConfig.BLANK && space != previous) {
+                estimate++;
+            }
+            previous = space;
+        }
+        return estimate;
+    }
+}
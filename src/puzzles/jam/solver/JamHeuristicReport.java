@@ -0,0 +1,52 @@
+package puzzles.jam.solver;
+
+import puzzles.common.solver.*;
+import puzzles.jam.model.JamConfig;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Solves Jam puzzle files with plain BFS and A* (and optionally IDA*)
+ * using the JamHeuristic, and prints the solution length, the number of
+ * configs each one expanded and how long it took. IDA* keeps no visited
+ * set, so it is only practical on puzzles with short solutions.
+ *
+ * @author Austin Couch
+ */
+public class JamHeuristicReport {
+    public static void main(String[] args) throws IOException {
+        boolean withIDAStar = args.length > 0 && args[0].equals("-ida");
+        if (args.length < (withIDAStar ? 2 : 1)) {
+            System.out.println("Usage: java JamHeuristicReport [-ida] filename ...");
+            return;
+        }
+        System.out.printf("%-22s %-6s %6s %10s %10s%n", "File", "Engine", "Moves", "Expanded", "Time (ms)");
+        for (int i = withIDAStar ? 1 : 0; i < args.length; ++i) {
+            report(args[i], "BFS", new BFSEngine());
+            report(args[i], "A*", new AStarEngine<>(new JamHeuristic()));
+            if (withIDAStar) {
+                report(args[i], "IDA*", new IDAStarEngine<>(new JamHeuristic()));
+            }
+        }
+    }
+
+    /**
+     * Solves one file with one engine and prints a row of the report.
+     *
+     * @param filename puzzle file to solve
+     * @param name name of the engine in the report
+     * @param engine engine to solve with
+     * @throws IOException if error occurs while reading from the file
+     */
+    private static void report(String filename, String name, SearchEngine engine) throws IOException {
+        JamConfig config = new JamConfig(filename);
+        Solver solver = new Solver(engine);
+        long start = System.nanoTime();
+        Optional<List<Configuration>> solved = solver.solve(config);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        String moves = solved.map(path -> Integer.toString(path.size() - 1)).orElse("-");
+        System.out.printf("%-22s %-6s %6s %10d %10d%n", filename, name, moves, solver.getUniqueNumConfigs(), millis);
+    }
+}
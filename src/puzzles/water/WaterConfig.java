@@ -1,7 +1,11 @@
 package puzzles.water;
 
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.SearchEvents;
+import puzzles.common.solver.SuccessorVisitor;
+import puzzles.common.solver.SuccessorsEvent;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Objects;
@@ -12,6 +16,11 @@ import java.util.Objects;
  * @author Hritik "Ricky" Gupta
  */
 public class WaterConfig implements Configuration {
+    /** number of bits of a move code that hold the index of a bucket */
+    private static final int BUCKET_BITS = 5;
+    /** number of bits of a move code that hold an amount of water */
+    private static final int AMOUNT_BITS = Integer.SIZE - 2 - 2 * BUCKET_BITS;
+
     /** total capacities of all the buckets */
     private ArrayList<Integer> totalCapacities;
     /** current capacities of all the buckets */
@@ -57,22 +66,35 @@ public class WaterConfig implements Configuration {
     @Override
     public Collection<Configuration> getSuccessors() {
         ArrayList<Configuration> successors = new ArrayList<>();
+        forEachSuccessor(successors::add);
+        return successors;
+    }
 
-        for (int i = 0; i < this.currentCapacities.size(); ++i) {
+    @Override
+    public boolean forEachSuccessor(SuccessorVisitor visitor) {
+        SuccessorsEvent event = SearchEvents.beginSuccessors();
+        int count = 0;
+        boolean going = true;
+
+        for (int i = 0; going && i < this.currentCapacities.size(); ++i) {
             int currentCapacity = this.currentCapacities.get(i);
             int maxCapacity = this.totalCapacities.get(i);
             int minCapacity = 0;
 
             WaterConfig filled = new WaterConfig(this);
-            WaterConfig emptied = new WaterConfig(this);
-
             filled.currentCapacities.set(i, maxCapacity);
-            emptied.currentCapacities.set(i, minCapacity);
+            going = visitor.visit(filled);
+            ++count;
+            if (!going) {
+                break;
+            }
 
-            successors.add(filled);
-            successors.add(emptied);
+            WaterConfig emptied = new WaterConfig(this);
+            emptied.currentCapacities.set(i, minCapacity);
+            going = visitor.visit(emptied);
+            ++count;
 
-            for (int j = 0; j < this.currentCapacities.size(); ++j) {
+            for (int j = 0; going && j < this.currentCapacities.size(); ++j) {
 
                 if (j == i) {
                     continue;
@@ -95,10 +117,12 @@ public class WaterConfig implements Configuration {
                 w.currentCapacities.set(i, newCurrentCapacity);
                 w.currentCapacities.set(j, newBucketCapacity);
 
-                successors.add(w);
+                going = visitor.visit(w);
+                ++count;
             }
         }
-        return successors;
+        SearchEvents.endSuccessors(event, this, count);
+        return going;
     }
 
     @Override
@@ -113,6 +137,128 @@ public class WaterConfig implements Configuration {
         return new WaterConfig(new ArrayList<Integer>(), new ArrayList<Integer>(), 0);
     }
 
+    /**
+     * @return total number of bits needed to pack every bucket's amount
+     * at just the width its capacity requires
+     */
+    private int getPackedBits() {
+        int bits = 0;
+        for (int capacity : this.totalCapacities) {
+            bits += Integer.SIZE - Integer.numberOfLeadingZeros(capacity);
+        }
+        return bits;
+    }
+
+    @Override
+    public int getStateCodeSize() {
+        int bits = getPackedBits();
+        if (bits <= Long.SIZE) {
+            return Math.max(1, (bits + Byte.SIZE - 1) / Byte.SIZE);
+        }
+        return this.currentCapacities.size() * Integer.BYTES;
+    }
+
+    @Override
+    public long encodeState() {
+        long code = 0;
+        int shift = 0;
+        for (int i = 0; i < this.currentCapacities.size(); ++i) {
+            code |= (long) this.currentCapacities.get(i) << shift;
+            shift += Integer.SIZE - Integer.numberOfLeadingZeros(this.totalCapacities.get(i));
+        }
+        return code;
+    }
+
+    @Override
+    public byte[] encodeStateBytes() {
+        ByteBuffer code = ByteBuffer.allocate(this.currentCapacities.size() * Integer.BYTES);
+        for (int bucket : this.currentCapacities) {
+            code.putInt(bucket);
+        }
+        return code.array();
+    }
+
+    @Override
+    public Configuration decodeState(long code) {
+        ArrayList<Integer> buckets = new ArrayList<>(this.totalCapacities.size());
+        for (int capacity : this.totalCapacities) {
+            int bits = Integer.SIZE - Integer.numberOfLeadingZeros(capacity);
+            buckets.add((int) (code & ((1L << bits) - 1)));
+            code >>>= bits;
+        }
+        return new WaterConfig(this.totalCapacities, buckets, this.goal);
+    }
+
+    @Override
+    public Configuration decodeState(byte[] code) {
+        ByteBuffer buffer = ByteBuffer.wrap(code);
+        ArrayList<Integer> buckets = new ArrayList<>(this.totalCapacities.size());
+        while (buffer.hasRemaining()) {
+            buckets.add(buffer.getInt());
+        }
+        return new WaterConfig(this.totalCapacities, buckets, this.goal);
+    }
+
+    /**
+     * Moves hold the indices of the buckets and an amount of water, so they
+     * have codes for up to 32 buckets of less than 2^20 each.
+     */
+    @Override
+    public boolean hasMoveCodes() {
+        if (this.totalCapacities.size() > 1 << BUCKET_BITS) {
+            return false;
+        }
+        for (int capacity : this.totalCapacities) {
+            if (capacity >= 1 << AMOUNT_BITS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Filling and emptying a bucket are both coded as the amount the bucket
+     * held before, which is all it takes to undo them, and a pour as the
+     * amount poured. The lowest bit tells them apart, and is followed by the
+     * bucket poured from (or filled or emptied), the bucket poured into and
+     * the amount.
+     */
+    @Override
+    public int describeMove(Configuration successor) {
+        ArrayList<Integer> after = ((WaterConfig) successor).currentCapacities;
+        int from = -1;
+        int into = -1;
+        for (int i = 0; i < after.size(); ++i) {
+            if (after.get(i) < this.currentCapacities.get(i)) {
+                from = i;
+            } else if (after.get(i) > this.currentCapacities.get(i)) {
+                into = i;
+            }
+        }
+        if (from != -1 && into != -1) {
+            int poured = this.currentCapacities.get(from) - after.get(from);
+            return ((poured << BUCKET_BITS | into) << BUCKET_BITS | from) << 1 | 1;
+        }
+        int bucket = Math.max(Math.max(from, into), 0);
+        return (this.currentCapacities.get(bucket) << 2 * BUCKET_BITS | bucket) << 1;
+    }
+
+    @Override
+    public Configuration undoMove(int move) {
+        int mask = (1 << BUCKET_BITS) - 1;
+        int from = move >>> 1 & mask;
+        int amount = move >>> 1 + 2 * BUCKET_BITS;
+        WaterConfig undone = new WaterConfig(this);
+        if ((move & 1) == 0) {
+            undone.currentCapacities.set(from, amount);
+        } else {
+            int into = move >>> 1 + BUCKET_BITS & mask;
+            undone.currentCapacities.set(from, this.currentCapacities.get(from) + amount);
+            undone.currentCapacities.set(into, this.currentCapacities.get(into) - amount);
+        }
+        return undone;
+    }
+
     @Override
     public boolean equals(Object o) {
         boolean result = false;
@@ -130,6 +276,14 @@ public class WaterConfig implements Configuration {
         return Objects.hash(totalCapacities, currentCapacities, goal);
     }
 
+    /**
+     * The display leaves out the capacities and the goal, which toString has.
+     */
+    @Override
+    public String describePuzzle() {
+        return toString();
+    }
+
     @Override
     public String toString() {
         return "WaterConfig{" +